@@ -0,0 +1,69 @@
+package io.github.seen_arabic.arabic_services.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.seen_arabic.arabic_services.ArabicServices;
+import io.github.seen_arabic.arabic_services.BannedWordDictionary;
+
+/**
+ * Banned word transforms across input sizes and dictionary sizes. About one
+ * word in ten of the input is a banned word with an affix.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BannedWordsBenchmark {
+
+    @Param({ "WORD", "TWEET", "ARTICLE", "CHAPTER" })
+    InputSize size;
+
+    @Param({ "LIGHT" })
+    DiacriticDensity density;
+
+    @Param({ "0", "1000", "10000", "100000" })
+    int dictionarySize;
+
+    String text;
+
+    private BannedWordDictionary original;
+
+    @Setup
+    public void setUp() {
+        text = Corpus.text(size, density, 10);
+        original = ArabicServices.getBannedWordDictionary();
+        if (dictionarySize > 0) {
+            ArabicServices.setBannedWordDictionary(Corpus.dictionary(dictionarySize));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ArabicServices.setBannedWordDictionary(original);
+    }
+
+    @Benchmark
+    public String tashfeerBannedWords() {
+        return ArabicServices.tashfeerBannedWords(text);
+    }
+
+    @Benchmark
+    public String toOldArabicAndTashfeerBannedWords() {
+        return ArabicServices.toOldArabicAndTashfeerBannedWords(text);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.seen_arabic.arabic_services.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import io.github.seen_arabic.arabic_services.BannedWordDictionary;
+
+/**
+ * Deterministic inputs for the benchmarks, so every run measures the same
+ * text.
+ */
+final class Corpus {
+    private static final String[] WORDS = {
+            "الخيل", "والليل", "والبيداء", "تعرفني", "والسيف", "والرمح", "والقرطاس", "والقلم",
+            "هذه", "جملة", "عربية", "مكتوبة", "للاختبار", "في", "من", "على", "كتاب", "المدرسة",
+            "الأطفال", "يلعبون", "الحديقة", "جميل", "نون", "أنا", "نحن", "بيت", "شمس", "قمر" };
+    private static final String[] TASHKEEL = { "َ", "ُ", "ِ", "ْ", "ّ", "ً", "ٌ", "ٍ" };
+    private static final String LETTERS = "ابتثجحخدذرزسشصضطظعغفقكلمنهوي";
+
+    private Corpus() {
+    }
+
+    /**
+     * Builds a text of about the given size. Roughly one word in
+     * {@code bannedEvery} is taken from the banned word list.
+     */
+    static String text(InputSize size, DiacriticDensity density, int bannedEvery) {
+        Random random = new Random(size.ordinal() * 31L + density.ordinal());
+        List<String> banned = BannedWordDictionary.defaultDictionary().words();
+        StringBuilder text = new StringBuilder(size.characters * 2);
+        int words = 0;
+        do {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            String word = bannedEvery > 0 && ++words % bannedEvery == 0
+                    ? "ال" + banned.get(random.nextInt(banned.size()))
+                    : WORDS[random.nextInt(WORDS.length)];
+            for (int i = 0; i < word.length(); i++) {
+                text.append(word.charAt(i));
+                if (random.nextDouble() < density.ratio) {
+                    text.append(TASHKEEL[random.nextInt(TASHKEEL.length)]);
+                }
+            }
+        } while (size != InputSize.WORD && text.length() < size.characters);
+        return text.toString();
+    }
+
+    /**
+     * Builds a dictionary of the default banned words padded with random
+     * words up to {@code size} entries.
+     */
+    static BannedWordDictionary dictionary(int size) {
+        List<String> words = new ArrayList<>(BannedWordDictionary.defaultDictionary().words());
+        Random random = new Random(size);
+        while (words.size() < size) {
+            int length = 3 + random.nextInt(5);
+            StringBuilder word = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+            words.add(word.toString());
+        }
+        return BannedWordDictionary.of(words);
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.seen_arabic.arabic_services.benchmarks;
+
+/**
+ * Share of the letters in a benchmark input that carry a diacritic.
+ */
+public enum DiacriticDensity {
+    NONE(0), LIGHT(0.2), FULL(0.9);
+
+    final double ratio;
+
+    DiacriticDensity(double ratio) {
+        this.ratio = ratio;
+    }
+}
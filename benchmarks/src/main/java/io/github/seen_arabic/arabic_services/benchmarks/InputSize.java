@@ -0,0 +1,14 @@
+package io.github.seen_arabic.arabic_services.benchmarks;
+
+/**
+ * Benchmark input sizes, from a single word up to a book chapter.
+ */
+public enum InputSize {
+    WORD(1), TWEET(280), ARTICLE(5_000), CHAPTER(50_000);
+
+    final int characters;
+
+    InputSize(int characters) {
+        this.characters = characters;
+    }
+}
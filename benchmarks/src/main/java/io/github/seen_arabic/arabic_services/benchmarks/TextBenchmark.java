@@ -0,0 +1,67 @@
+package io.github.seen_arabic.arabic_services.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.seen_arabic.arabic_services.ArabicServices;
+
+/**
+ * Character level transforms across input sizes and diacritic densities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextBenchmark {
+
+    @Param({ "WORD", "TWEET", "ARTICLE", "CHAPTER" })
+    InputSize size;
+
+    @Param({ "NONE", "LIGHT", "FULL" })
+    DiacriticDensity density;
+
+    String text;
+
+    @Setup
+    public void setUp() {
+        text = Corpus.text(size, density, 0);
+    }
+
+    @Benchmark
+    public String removeTashkeel() {
+        return ArabicServices.removeTashkeel(text);
+    }
+
+    @Benchmark
+    public String removeTatweel() {
+        return ArabicServices.removeTatweel(text);
+    }
+
+    @Benchmark
+    public String textToOldArabic() {
+        return ArabicServices.textToOldArabic(text);
+    }
+
+    @Benchmark
+    public String tashfeer() {
+        return ArabicServices.tashfeer(text);
+    }
+
+    @Benchmark
+    public String wordToLetters() {
+        return ArabicServices.wordToLetters(text);
+    }
+}
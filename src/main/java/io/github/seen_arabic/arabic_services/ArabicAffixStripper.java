@@ -0,0 +1,260 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Removes Arabic prefixes and suffixes from words.
+ *
+ * Prefixes and suffixes are kept in two tries, built once from the affix
+ * sets, so each affix is found with a single walk over the first or last
+ * characters of the word, always taking the longest match. The word is only
+ * copied once, when something was stripped.
+ *
+ * For example
+ * <pre>{@code
+ * ArabicAffixStripper stripper = ArabicAffixStripper.builder()
+ *         .prefixes(Arrays.asList("و", "ال"))
+ *         .suffixes(Arrays.asList("ة", "ها"))
+ *         .minStemLength(2)
+ *         .layers(2)
+ *         .build();
+ * stripper.strip("والكتاب"); // "كتاب"
+ * }</pre>
+ *
+ * A stripper is immutable and can be shared between threads.
+ */
+public final class ArabicAffixStripper {
+    private static final ArabicAffixStripper DEFAULT = builder().build();
+
+    private final Node prefixes;
+    private final Node suffixes;
+    private final int maxPrefixLength;
+    private final int maxSuffixLength;
+    private final int minStemLength;
+    private final int layers;
+
+    private ArabicAffixStripper(Builder builder) {
+        this.prefixes = Node.build(builder.prefixes, false);
+        this.suffixes = Node.build(builder.suffixes, true);
+        this.maxPrefixLength = maxLength(builder.prefixes);
+        this.maxSuffixLength = maxLength(builder.suffixes);
+        this.minStemLength = builder.minStemLength;
+        this.layers = builder.layers;
+    }
+
+    /**
+     * The stripper used by {@link ArabicServices#removeArabicAffixes(String)}:
+     * the library's common prefixes and suffixes, one layer of each, and a
+     * stem of at least one character.
+     *
+     * @return The default stripper {@link ArabicAffixStripper}
+     */
+    public static ArabicAffixStripper defaultStripper() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return A builder that starts from the default settings {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Removes up to {@code layers} prefixes from the start of the word, then up
+     * to {@code layers} suffixes from its end. An affix is only removed if at
+     * least {@code minStemLength} characters are left.
+     *
+     * @param word The input word {@link String}
+     * @return The word without its affixes, the same instance if none were
+     *         found {@link String}
+     */
+    public String strip(String word) {
+        Objects.requireNonNull(word, Data.WORD_NULL_MESSAGE);
+        int start = 0;
+        int end = word.length();
+        for (int layer = 0; layer < layers; layer++) {
+            int length = prefixes.longestMatch(word, start, end - minStemLength, false);
+            if (length == 0) {
+                break;
+            }
+            start += length;
+        }
+        for (int layer = 0; layer < layers; layer++) {
+            int length = suffixes.longestMatch(word, end - 1, start + minStemLength - 1, true);
+            if (length == 0) {
+                break;
+            }
+            end -= length;
+        }
+        return word.substring(start, end);
+    }
+
+    /**
+     * @return The most characters {@link #strip(String)} can remove from a
+     *         word.
+     */
+    int maxStrippedLength() {
+        return layers * (maxPrefixLength + maxSuffixLength);
+    }
+
+    private static int maxLength(Collection<String> affixes) {
+        int max = 0;
+        for (String affix : affixes) {
+            max = Math.max(max, affix.length());
+        }
+        return max;
+    }
+
+    /**
+     * A trie node. Children are kept in parallel arrays sorted by label,
+     * affix sets are small enough that a linear scan beats hashing.
+     */
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private boolean terminal;
+
+        static Node build(Collection<String> affixes, boolean reversed) {
+            Node root = new Node();
+            for (String affix : affixes) {
+                Node node = root;
+                for (int i = 0; i < affix.length(); i++) {
+                    node = node.childOrCreate(affix.charAt(reversed ? affix.length() - 1 - i : i));
+                }
+                node.terminal = true;
+            }
+            return root;
+        }
+
+        /**
+         * Walks the trie from {@code from} towards {@code limit}, forwards or
+         * backwards, and returns the length of the longest affix that ends
+         * on or before {@code limit}, 0 if there is none.
+         */
+        int longestMatch(String word, int from, int limit, boolean backwards) {
+            int longest = 0;
+            Node node = this;
+            int depth = 0;
+            for (int i = from; backwards ? i > limit : i < limit; i += backwards ? -1 : 1) {
+                node = node.child(word.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                depth++;
+                if (node.terminal) {
+                    longest = depth;
+                }
+            }
+            return longest;
+        }
+
+        private Node child(char label) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == label) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char label) {
+            Node child = child(label);
+            if (child != null) {
+                return child;
+            }
+            int position = 0;
+            while (position < labels.length && labels[position] < label) {
+                position++;
+            }
+            child = new Node();
+            char[] newLabels = Arrays.copyOf(labels, labels.length + 1);
+            Node[] newChildren = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(labels, position, newLabels, position + 1, labels.length - position);
+            System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+            newLabels[position] = label;
+            newChildren[position] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+    }
+
+    /**
+     * Collects the settings of an {@link ArabicAffixStripper}.
+     */
+    public static final class Builder {
+        private Collection<String> prefixes = Data.ARABIC_PREFIXES;
+        private Collection<String> suffixes = Data.ARABIC_SUFFIXES;
+        private int minStemLength = 1;
+        private int layers = 1;
+
+        private Builder() {
+        }
+
+        /**
+         * @param prefixes The prefixes to remove {@link Collection}
+         * @return This builder {@link Builder}
+         */
+        public Builder prefixes(Collection<String> prefixes) {
+            this.prefixes = copyOf(prefixes);
+            return this;
+        }
+
+        /**
+         * @param suffixes The suffixes to remove {@link Collection}
+         * @return This builder {@link Builder}
+         */
+        public Builder suffixes(Collection<String> suffixes) {
+            this.suffixes = copyOf(suffixes);
+            return this;
+        }
+
+        /**
+         * @param minStemLength The fewest characters to leave after removing
+         *                      affixes (default is 1).
+         * @return This builder {@link Builder}
+         */
+        public Builder minStemLength(int minStemLength) {
+            if (minStemLength < 0) {
+                throw new IllegalArgumentException("minStemLength must be not negative");
+            }
+            this.minStemLength = minStemLength;
+            return this;
+        }
+
+        /**
+         * @param layers How many prefixes and how many suffixes can be removed
+         *               from one word, such as "و" + "ال" (default is 1).
+         * @return This builder {@link Builder}
+         */
+        public Builder layers(int layers) {
+            if (layers <= 0) {
+                throw new IllegalArgumentException("layers must be positive");
+            }
+            this.layers = layers;
+            return this;
+        }
+
+        /**
+         * @return The stripper {@link ArabicAffixStripper}
+         */
+        public ArabicAffixStripper build() {
+            return new ArabicAffixStripper(this);
+        }
+
+        private static Collection<String> copyOf(Collection<String> affixes) {
+            Objects.requireNonNull(affixes, Data.WORDS_NULL_MESSAGE);
+            String[] copy = affixes.toArray(new String[0]);
+            for (String affix : copy) {
+                Objects.requireNonNull(affix, Data.WORD_NULL_MESSAGE);
+            }
+            return Arrays.asList(copy);
+        }
+    }
+}
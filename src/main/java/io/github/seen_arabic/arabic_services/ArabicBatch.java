@@ -0,0 +1,300 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Bulk entry points that apply an {@link ArabicServices} transform to many
+ * texts in parallel.
+ *
+ * The input list is split recursively across a {@link ForkJoinPool}, the
+ * common pool unless one is given, and results come back in input order.
+ * The transforms build their output in buffers kept per thread, see
+ * {@link ScratchBuilder}, so every worker reuses its own output buffers across
+ * the texts it processes and only allocates the resulting strings.
+ *
+ * For example
+ * {@code ArabicBatch.removeTashkeelAll(messages)} returns the messages
+ * without tashkeel, and
+ * {@code ArabicBatch.applyAll(messages, pipeline, pool)} runs an
+ * {@link ArabicPipeline} over them on a dedicated pool.
+ */
+public final class ArabicBatch {
+    /**
+     * Below this many texts a task stops splitting and processes its range
+     * directly.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+
+    private ArabicBatch() {
+    }
+
+    /**
+     * {@link ArabicServices#removeTashkeel(String)} for every text.
+     *
+     * @param texts The input strings {@link List}
+     * @return The resulting strings, in input order {@link List}
+     */
+    public static List<String> removeTashkeelAll(List<String> texts) {
+        return applyAll(texts, ArabicServices::removeTashkeel);
+    }
+
+    /**
+     * {@link ArabicServices#removeTashkeel(String)} for every text, on the given
+     * pool.
+     *
+     * @param texts The input strings {@link List}
+     * @param pool  The pool to run on {@link ForkJoinPool}
+     * @return The resulting strings, in input order {@link List}
+     */
+    public static List<String> removeTashkeelAll(List<String> texts, ForkJoinPool pool) {
+        return applyAll(texts, ArabicServices::removeTashkeel, pool);
+    }
+
+    /**
+     * {@link ArabicServices#removeTatweel(String)} for every text.
+     *
+     * @param texts The input strings {@link List}
+     * @return The resulting strings, in input order {@link List}
+     */
+    public static List<String> removeTatweelAll(List<String> texts) {
+        return applyAll(texts, ArabicServices::removeTatweel);
+    }
+
+    /**
+     * {@link ArabicServices#removeTatweel(String)} for every text, on the given
+     * pool.
+     *
+     * @param texts The input strings {@link List}
+     * @param pool  The pool to run on {@link ForkJoinPool}
+     * @return The resulting strings, in input order {@link List}
+     */
+    public static List<String> removeTatweelAll(List<String> texts, ForkJoinPool pool) {
+        return applyAll(texts, ArabicServices::removeTatweel, pool);
+    }
+
+    /**
+     * {@link ArabicServices#textToOldArabic(String)} for every text.
+     *
+     * @param texts The input strings {@link List}
+     * @return The resulting strings, in input order {@link List}
+     */
+    public static List<String> textToOldArabicAll(List<String> texts) {
+        return applyAll(texts, ArabicServices::textToOldArabic);
+    }
+
+    /**
+     * {@link ArabicServices#textToOldArabic(String)} for every text, on the given
+     * pool.
+     *
+     * @param texts The input strings {@link List}
+     * @param pool  The pool to run on {@link ForkJoinPool}
+     * @return The resulting strings, in input order {@link List}
+     */
+    public static List<String> textToOldArabicAll(List<String> texts, ForkJoinPool pool) {
+        return applyAll(texts, ArabicServices::textToOldArabic, pool);
+    }
+
+    /**
+     * {@link ArabicServices#tashfeerBannedWords(String)} for every text.
+     *
+     * @param texts The input strings {@link List}
+     * @return The resulting strings, in input order {@link List}
+     */
+    public static List<String> tashfeerBannedWordsAll(List<String> texts) {
+        return applyAll(texts, ArabicServices::tashfeerBannedWords);
+    }
+
+    /**
+     * {@link ArabicServices#tashfeerBannedWords(String)} for every text, on the
+     * given pool.
+     *
+     * @param texts The input strings {@link List}
+     * @param pool  The pool to run on {@link ForkJoinPool}
+     * @return The resulting strings, in input order {@link List}
+     */
+    public static List<String> tashfeerBannedWordsAll(List<String> texts, ForkJoinPool pool) {
+        return applyAll(texts, ArabicServices::tashfeerBannedWords, pool);
+    }
+
+    /**
+     * {@link ArabicServices#tashfeerBannedWords(String, int)} for every text.
+     *
+     * @param texts           The input strings {@link List}
+     * @param levelOfTashfeer The encryption level (default is 2).
+     * @return The resulting strings, in input order {@link List}
+     */
+    public static List<String> tashfeerBannedWordsAll(List<String> texts, int levelOfTashfeer) {
+        return tashfeerBannedWordsAll(texts, levelOfTashfeer, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * {@link ArabicServices#tashfeerBannedWords(String, int)} for every text, on
+     * the given pool.
+     *
+     * @param texts           The input strings {@link List}
+     * @param levelOfTashfeer The encryption level (default is 2).
+     * @param pool            The pool to run on {@link ForkJoinPool}
+     * @return The resulting strings, in input order {@link List}
+     */
+    public static List<String> tashfeerBannedWordsAll(List<String> texts, int levelOfTashfeer, ForkJoinPool pool) {
+        return applyAll(texts, text -> ArabicServices.tashfeerBannedWords(text, levelOfTashfeer), pool);
+    }
+
+    /**
+     * Applies a transform, such as an {@link ArabicPipeline}, to every text on
+     * the common pool.
+     *
+     * @param texts     The input strings {@link List}
+     * @param transform The transform to apply {@link Function}
+     * @return The resulting strings, in input order {@link List}
+     */
+    public static List<String> applyAll(List<String> texts, Function<? super String, String> transform) {
+        return applyAll(texts, transform, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Applies a transform, such as an {@link ArabicPipeline}, to every text on
+     * the given pool.
+     *
+     * @param texts     The input strings {@link List}
+     * @param transform The transform to apply {@link Function}
+     * @param pool      The pool to run on {@link ForkJoinPool}
+     * @return The resulting strings, in input order {@link List}
+     */
+    public static List<String> applyAll(List<String> texts, Function<? super String, String> transform,
+            ForkJoinPool pool) {
+        Objects.requireNonNull(texts, Data.TEXTS_NULL_MESSAGE);
+        Objects.requireNonNull(transform, Data.TRANSFORM_NULL_MESSAGE);
+        Objects.requireNonNull(pool, Data.POOL_NULL_MESSAGE);
+        String[] input = texts.toArray(new String[0]);
+        String[] output = new String[input.length];
+        pool.invoke(new TransformTask(input, output, transform, 0, input.length));
+        return Arrays.asList(output);
+    }
+
+    /**
+     * Applies a transform lazily to a stream of texts, in batches.
+     *
+     * The texts are read and transformed a batch at a time, so a short-circuit
+     * operation such as {@code findFirst()} may transform up to a batch more
+     * texts than it consumes. A parallel stream is split over the common pool
+     * into batches no smaller than those of {@link #applyAll(List, Function)},
+     * and order is kept for ordered streams. Closing the resulting stream
+     * closes the input stream.
+     *
+     * @param texts     The input strings {@link Stream}
+     * @param transform The transform to apply {@link Function}
+     * @return A stream of the resulting strings {@link Stream}
+     */
+    public static Stream<String> map(Stream<String> texts, Function<? super String, String> transform) {
+        Objects.requireNonNull(texts, Data.TEXTS_NULL_MESSAGE);
+        Objects.requireNonNull(transform, Data.TRANSFORM_NULL_MESSAGE);
+        return StreamSupport.stream(new BatchSpliterator(texts.spliterator(), transform), texts.isParallel())
+                .onClose(texts::close);
+    }
+
+    private static final class TransformTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] input;
+        private final String[] output;
+        private final Function<? super String, String> transform;
+        private final int from;
+        private final int to;
+
+        TransformTask(String[] input, String[] output, Function<? super String, String> transform, int from,
+                int to) {
+            this.input = input;
+            this.output = output;
+            this.transform = transform;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    output[i] = transform.apply(input[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TransformTask(input, output, transform, from, middle),
+                    new TransformTask(input, output, transform, middle, to));
+        }
+    }
+
+    /**
+     * Reads up to {@link #SEQUENTIAL_THRESHOLD} texts from the source,
+     * transforms them together and hands the results out one by one.
+     */
+    private static final class BatchSpliterator implements Spliterator<String> {
+        private final Spliterator<String> source;
+        private final Function<? super String, String> transform;
+        private String[] batch;
+        private int index;
+        private int size;
+
+        BatchSpliterator(Spliterator<String> source, Function<? super String, String> transform) {
+            this.source = source;
+            this.transform = transform;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            if (index == size && !fill()) {
+                return false;
+            }
+            String result = batch[index];
+            batch[index++] = null;
+            action.accept(result);
+            return true;
+        }
+
+        private boolean fill() {
+            if (batch == null) {
+                batch = new String[SEQUENTIAL_THRESHOLD];
+            }
+            index = 0;
+            size = 0;
+            while (size < batch.length && source.tryAdvance(text -> batch[size++] = text)) {
+                // Reads the next text into the batch
+            }
+            for (int i = 0; i < size; i++) {
+                batch[i] = transform.apply(batch[i]);
+            }
+            return size > 0;
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            // A batch in progress stays with this spliterator
+            if (index < size || source.estimateSize() <= SEQUENTIAL_THRESHOLD) {
+                return null;
+            }
+            Spliterator<String> prefix = source.trySplit();
+            return prefix == null ? null : new BatchSpliterator(prefix, transform);
+        }
+
+        @Override
+        public long estimateSize() {
+            long remaining = source.estimateSize();
+            return remaining == Long.MAX_VALUE ? remaining : remaining + size - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & (ORDERED | SIZED | SUBSIZED);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Undoes the spellings used to get banned words past a filter, so that
+ * "الجـــيش", "الجَيْش" and "اڵجېش" are all compared as "الجيش", and
+ * "الجييييش" as "الجييش".
+ *
+ * Every char goes through one fold table built from {@link Data}: tashkeel
+ * and tatweel are dropped, and the lookalike glyphs tashfeer writes and the
+ * dotless letters of old Arabic become the letter they stand for. Then a
+ * letter written three times or more in a row is kept twice: real words
+ * double a letter at most, "معايير" for example, so the one extra letter
+ * left is a single edit. A glyph that stands for
+ * several letters, "ٮ" for "ب" "ت" and "ث", becomes the first of them and
+ * the edit distance absorbs the difference. Letters are never folded, not
+ * even the ones tashfeer uses as glyphs like "ح" for "خ", as that would make
+ * real words equal.
+ *
+ * Banned words are canonicalized when a dictionary is built, and texts once
+ * when they are checked, see {@link CanonicalText}.
+ */
+final class ArabicCanonicalizer {
+    /** Chars that fold to this are dropped. */
+    static final char DROP = '\uFFFF';
+    /** Up to the end of Thaana, whose glyphs tashfeer borrows. */
+    private static final char[] FOLD = new char[0x0800];
+    /** The few glyphs past the table, sorted, and their letters. */
+    private static final char[] OTHER_GLYPHS;
+    private static final char[] OTHER_LETTERS;
+
+    static {
+        for (char c = 0; c < FOLD.length; c++) {
+            FOLD[c] = ArabicCharClass.has(c, ArabicCharClass.TASHKEEL | ArabicCharClass.TATWEEL) ? DROP : c;
+        }
+        Map<Character, Character> others = new TreeMap<>();
+        // Block order puts "ب" before "ت" and "ث", so shared glyphs get the
+        // most common letter
+        for (char letter = ArabicCharClass.ARABIC_BLOCK_START; letter < ArabicCharClass.ARABIC_BLOCK_START
+                + ArabicCharClass.ARABIC_BLOCK_SIZE; letter++) {
+            if (!ArabicCharClass.isStandardLetter(letter)) {
+                continue;
+            }
+            addGlyph(Data.oldLetter(letter), letter, others);
+            char[] replacements = Data.tashfeerReplacements(letter);
+            if (replacements != null) {
+                for (char glyph : replacements) {
+                    addGlyph(glyph, letter, others);
+                }
+            }
+        }
+        OTHER_GLYPHS = new char[others.size()];
+        OTHER_LETTERS = new char[others.size()];
+        int i = 0;
+        for (Map.Entry<Character, Character> other : others.entrySet()) {
+            OTHER_GLYPHS[i] = other.getKey();
+            OTHER_LETTERS[i] = other.getValue();
+            i++;
+        }
+    }
+
+    private ArabicCanonicalizer() {
+    }
+
+    /**
+     * Returns the canonical form of a word. Digits and symbols that tashfeer
+     * uses as glyphs, "1" and "|" for "ا" for example, are only folded in
+     * words that have an Arabic letter, so "2021" is kept. Returns the same
+     * instance when the word has nothing to rewrite.
+     */
+    static String canonicalize(String word) {
+        int length = word.length();
+        boolean arabic = hasArabicLetter(word, 0, length);
+        char[] output = null;
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            char folded = c < 0x80 && !arabic ? c : fold(c);
+            boolean repeated = size > 1 && charAt(word, output, size - 1) == folded
+                    && charAt(word, output, size - 2) == folded;
+            if (output == null) {
+                if (folded == c && !repeated) {
+                    size++;
+                    continue;
+                }
+                // The first change, copy what was kept so far
+                output = new char[length];
+                word.getChars(0, size, output, 0);
+            }
+            if (folded != DROP && !repeated) {
+                output[size++] = folded;
+            }
+        }
+        return output == null ? word : new String(output, 0, size);
+    }
+
+    /**
+     * Appends the canonical form of the word from {@code start} to
+     * {@code end} of the text, the same as {@link #canonicalize(String)}.
+     */
+    static void canonicalize(CharSequence text, int start, int end, StringBuilder output) {
+        boolean arabic = hasArabicLetter(text, start, end);
+        int wordStart = output.length();
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            char folded = c < 0x80 && !arabic ? c : fold(c);
+            int size = output.length();
+            boolean repeated = size - wordStart > 1 && output.charAt(size - 1) == folded
+                    && output.charAt(size - 2) == folded;
+            if (folded != DROP && !repeated) {
+                output.append(folded);
+            }
+        }
+    }
+
+    /**
+     * Folds one char, {@link #DROP} for tashkeel and tatweel.
+     */
+    static char fold(char c) {
+        if (c < FOLD.length) {
+            return FOLD[c];
+        }
+        int i = Arrays.binarySearch(OTHER_GLYPHS, c);
+        return i >= 0 ? OTHER_LETTERS[i] : c;
+    }
+
+    private static char charAt(String word, char[] output, int i) {
+        return output == null ? word.charAt(i) : output[i];
+    }
+
+    private static boolean hasArabicLetter(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80 && ArabicCharClass.isStandardLetter(fold(c))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addGlyph(char glyph, char letter, Map<Character, Character> others) {
+        if (glyph == Data.NO_OLD_LETTER || glyph == Data.REMOVED_LETTER
+                || ArabicCharClass.isStandardLetter(glyph)) {
+            return;
+        }
+        if (glyph < FOLD.length) {
+            if (FOLD[glyph] == glyph) {
+                FOLD[glyph] = letter;
+            }
+        } else if (!others.containsKey(glyph)) {
+            others.put(glyph, letter);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.List;
+
+/**
+ * Constant-time character class lookups for the Arabic block (U+0600 -
+ * U+06FF).
+ *
+ * Every code point in the block maps to a bitfield of the properties below,
+ * built once from the library's letter tables. Characters outside the block
+ * have no properties.
+ *
+ * For example
+ * {@code ArabicCharClass.isStandardLetter('ب')} is true, and so is
+ * {@code ArabicCharClass.has('أ', ArabicCharClass.ALEF_VARIANT | ArabicCharClass.YAA_VARIANT)}.
+ */
+public final class ArabicCharClass {
+    /** A letter that tashfeer can replace. */
+    public static final int STANDARD_LETTER = 1;
+    /** A letter that does not join the letter after it. */
+    public static final int ALONE_LETTER = 1 << 1;
+    /** An alef carrying a hamza or a maddah (أ إ آ). */
+    public static final int ALEF_VARIANT = 1 << 2;
+    /** A waw carrying a hamza (ؤ). */
+    public static final int WAW_VARIANT = 1 << 3;
+    /** An alef maqsura or a yaa carrying a hamza (ى ئ). */
+    public static final int YAA_VARIANT = 1 << 4;
+    /** A diacritic or Quranic annotation sign removed by tashkeel removal. */
+    public static final int TASHKEEL = 1 << 5;
+    /** The tatweel (kashida) character. */
+    public static final int TATWEEL = 1 << 6;
+    /** A letter that has an old (dotless) Arabic form. */
+    public static final int ARABIC_LETTER = 1 << 7;
+
+    static final char ARABIC_BLOCK_START = '\u0600';
+    static final int ARABIC_BLOCK_SIZE = 256;
+
+    private static final short[] PROPERTIES = new short[ARABIC_BLOCK_SIZE];
+
+    static {
+        add(Data.STANDARD_LETTERS, STANDARD_LETTER);
+        add(Data.ALONE_LETTERS, ALONE_LETTER);
+        add(Data.ALEF, ALEF_VARIANT);
+        add(Data.WAW, WAW_VARIANT);
+        add(Data.YAA, YAA_VARIANT);
+        for (String tashkeel : Data.TASHKEEL) {
+            add(tashkeel.charAt(0), TASHKEEL);
+        }
+        add('ـ', TATWEEL);
+        for (int i = 0; i < ARABIC_BLOCK_SIZE; i++) {
+            if (Data.oldLetter((char) (ARABIC_BLOCK_START + i)) != Data.NO_OLD_LETTER) {
+                PROPERTIES[i] |= ARABIC_LETTER;
+            }
+        }
+    }
+
+    private ArabicCharClass() {
+    }
+
+    /**
+     * Returns all the properties of a character.
+     *
+     * @param c The character to look up.
+     * @return The bitfield of the character's properties, 0 if it has none.
+     */
+    public static int properties(char c) {
+        int index = c - ARABIC_BLOCK_START;
+        return index >= 0 && index < ARABIC_BLOCK_SIZE ? PROPERTIES[index] : 0;
+    }
+
+    /**
+     * Checks if a character has any of the given properties.
+     *
+     * @param c          The character to look up.
+     * @param properties One or more of the property constants, or-ed together.
+     * @return true if the character has at least one of the properties.
+     */
+    public static boolean has(char c, int properties) {
+        return (properties(c) & properties) != 0;
+    }
+
+    /**
+     * @param c The character to look up.
+     * @return true if tashfeer can replace the character.
+     */
+    public static boolean isStandardLetter(char c) {
+        return has(c, STANDARD_LETTER);
+    }
+
+    /**
+     * @param c The character to look up.
+     * @return true if the character does not join the letter after it.
+     */
+    public static boolean isAloneLetter(char c) {
+        return has(c, ALONE_LETTER);
+    }
+
+    /**
+     * @param c The character to look up.
+     * @return true if the character is tashkeel.
+     */
+    public static boolean isTashkeel(char c) {
+        return has(c, TASHKEEL);
+    }
+
+    /**
+     * @param c The character to look up.
+     * @return true if the character is tatweel.
+     */
+    public static boolean isTatweel(char c) {
+        return has(c, TATWEEL);
+    }
+
+    /**
+     * @param c The character to look up.
+     * @return true if the character has an old (dotless) Arabic form.
+     */
+    public static boolean isArabicLetter(char c) {
+        return has(c, ARABIC_LETTER);
+    }
+
+    private static void add(List<Character> letters, int property) {
+        for (char letter : letters) {
+            add(letter, property);
+        }
+    }
+
+    private static void add(char c, int property) {
+        PROPERTIES[c - ARABIC_BLOCK_START] |= property;
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.Objects;
+
+/**
+ * Light stemmer for Arabic words, following the Light10 rules of Larkey et
+ * al.
+ *
+ * A word is first normalized: tashkeel and tatweel are removed, "أ" "إ" "آ"
+ * become "ا", "ى" becomes "ي" and "ة" becomes "ه". Then at most one of the
+ * prefixes "ال" "وال" "بال" "كال" "فال" "لل" "و" is removed, and each of the
+ * suffixes "ها" "ان" "ات" "ون" "ين" "يه" "ه" "ي" is removed in turn, as long
+ * as at least two letters are left.
+ *
+ * For example
+ * {@code ArabicLightStemmer.stem("والمعلمون")} is "معلم", and
+ * {@code ArabicLightStemmer.root("المكتوبة")} is "كتب".
+ */
+public final class ArabicLightStemmer {
+    private static final char[][] PREFIXES = {
+            "ال".toCharArray(),
+            "وال".toCharArray(),
+            "بال".toCharArray(),
+            "كال".toCharArray(),
+            "فال".toCharArray(),
+            "لل".toCharArray(),
+            "و".toCharArray(),
+    };
+    private static final char[][] SUFFIXES = {
+            "ها".toCharArray(),
+            "ان".toCharArray(),
+            "ات".toCharArray(),
+            "ون".toCharArray(),
+            "ين".toCharArray(),
+            "يه".toCharArray(),
+            "ه".toCharArray(),
+            "ي".toCharArray(),
+    };
+    /** The letters of the patterns {@link #root(String)} removes. */
+    private static final String PATTERN_PREFIXES = "مت";
+    private static final String LONG_VOWELS = "اوي";
+    private static final int MIN_STEM_LENGTH = 2;
+    private static final int ROOT_LENGTH = 3;
+
+    /**
+     * The most characters {@link #stem(String)} can remove from a normalized
+     * word: the longest prefix and every suffix.
+     */
+    static final int MAX_STRIPPED_LENGTH;
+
+    static {
+        int stripped = 0;
+        for (char[] prefix : PREFIXES) {
+            stripped = Math.max(stripped, prefix.length);
+        }
+        for (char[] suffix : SUFFIXES) {
+            stripped += suffix.length;
+        }
+        MAX_STRIPPED_LENGTH = stripped;
+    }
+
+    private ArabicLightStemmer() {
+    }
+
+    /**
+     * Returns the light stem of a word.
+     *
+     * @param word The input word {@link String}
+     * @return The normalized word without its prefix and suffixes {@link String}
+     */
+    public static String stem(String word) {
+        Objects.requireNonNull(word, Data.WORD_NULL_MESSAGE);
+        char[] letters = new char[word.length()];
+        int length = normalize(word, letters);
+        int start = stemPrefix(letters, length);
+        int end = stemSuffixes(letters, start, length);
+        return new String(letters, start, end - start);
+    }
+
+    /**
+     * Applies only the normalization step of {@link #stem(String)}.
+     */
+    static String normalize(String word) {
+        char[] letters = new char[word.length()];
+        return new String(letters, 0, normalize(word, letters));
+    }
+
+    /**
+     * Returns an approximate three letter root of a word: its light stem,
+     * without a leading "م" or "ت" and a long vowel inside the pattern, as in
+     * "مفعول" "فاعل" "فعيل". This is a heuristic for grouping related words,
+     * not a full morphological analysis, and stems it cannot reduce are
+     * returned as they are.
+     *
+     * @param word The input word {@link String}
+     * @return The root, or the light stem if no root was found {@link String}
+     */
+    public static String root(String word) {
+        String stem = stem(word);
+        StringBuilder root = new StringBuilder(stem);
+        if (root.length() > ROOT_LENGTH + 1 && PATTERN_PREFIXES.indexOf(root.charAt(0)) >= 0) {
+            root.deleteCharAt(0);
+        }
+        if (root.length() == ROOT_LENGTH + 1) {
+            if (LONG_VOWELS.indexOf(root.charAt(1)) >= 0) {
+                root.deleteCharAt(1);
+            } else if (LONG_VOWELS.indexOf(root.charAt(2)) >= 0) {
+                root.deleteCharAt(2);
+            }
+        }
+        return root.length() == ROOT_LENGTH ? root.toString() : stem;
+    }
+
+    private static int normalize(String word, char[] letters) {
+        int length = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (!ArabicCharClass.has(c, ArabicCharClass.TASHKEEL | ArabicCharClass.TATWEEL)) {
+                letters[length++] = normalizeLetter(c);
+            }
+        }
+        return length;
+    }
+
+    static char normalizeLetter(char c) {
+        switch (c) {
+            case 'أ':
+            case 'إ':
+            case 'آ':
+            case ArabicNormalizer.ALEF_WASLA:
+                return ArabicNormalizer.ALEF;
+            case 'ى':
+                return 'ي';
+            case 'ة':
+                return 'ه';
+            default:
+                return c;
+        }
+    }
+
+    private static int stemPrefix(char[] letters, int length) {
+        for (char[] prefix : PREFIXES) {
+            // The single letter "و" needs a longer word than the articles
+            int minLength = prefix.length == 1 ? MIN_STEM_LENGTH + 2 : prefix.length + MIN_STEM_LENGTH;
+            if (length >= minLength && regionMatches(letters, 0, prefix)) {
+                return prefix.length;
+            }
+        }
+        return 0;
+    }
+
+    private static int stemSuffixes(char[] letters, int start, int end) {
+        for (char[] suffix : SUFFIXES) {
+            if (end - start >= suffix.length + MIN_STEM_LENGTH && regionMatches(letters, end - suffix.length, suffix)) {
+                end -= suffix.length;
+            }
+        }
+        return end;
+    }
+
+    private static boolean regionMatches(char[] letters, int offset, char[] affix) {
+        for (int i = 0; i < affix.length; i++) {
+            if (letters[offset + i] != affix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
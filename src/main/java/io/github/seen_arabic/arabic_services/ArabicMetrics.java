@@ -0,0 +1,116 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * Receives measurements from the hot paths of the library: how long each
+ * operation takes and how large its input is, and for every banned word check
+ * whether the word was banned, whether the verdict came from the cache and
+ * how many banned words it was compared against.
+ *
+ * Metrics are set per {@link ArabicTextProcessor}, see
+ * {@link ArabicTextProcessor.Builder#metrics(ArabicMetrics)}; the static
+ * methods of {@link ArabicServices} report to the metrics of the default
+ * processor. {@link ArabicMetricsRecorder} keeps counters and histograms in
+ * memory and {@link JfrArabicMetrics} emits Java Flight Recorder events.
+ *
+ * Implementations are called from many threads at once and should not block.
+ * The default, {@link #NOOP}, is disabled: callers check
+ * {@link #isEnabled()} before reading the clock, so once the JIT has inlined
+ * that check measuring costs nothing.
+ */
+public interface ArabicMetrics {
+    /**
+     * Records nothing.
+     */
+    ArabicMetrics NOOP = NoopMetrics.INSTANCE;
+
+    /**
+     * @return false if nothing needs to be measured.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Called on the thread of an operation when it starts, before its
+     * {@link #recordOperation(Operation, int, long)}, for implementations
+     * that time calls themselves. Only called while {@link #isEnabled()}.
+     * A call that throws is not recorded, so a start may have no matching
+     * record.
+     *
+     * @param operation The operation {@link Operation}
+     */
+    default void operationStarted(Operation operation) {
+    }
+
+    /**
+     * Records one call of an operation.
+     *
+     * @param operation   The operation {@link Operation}
+     * @param inputLength The length of the input text in chars.
+     * @param nanos       How long the call took, in nanoseconds.
+     */
+    void recordOperation(Operation operation, int inputLength, long nanos);
+
+    /**
+     * Called on the thread of a banned word check when it starts, before its
+     * {@link #recordBannedWordCheck(boolean, boolean, int, long)}. Words found
+     * by the scan for banned phrases are recorded without a start. Only called
+     * while {@link #isEnabled()}.
+     */
+    default void bannedWordCheckStarted() {
+    }
+
+    /**
+     * Records one banned word check.
+     *
+     * @param banned      true if the word was banned.
+     * @param cached      true if the verdict came from the verdict cache.
+     * @param comparisons The number of banned words the edit distance ran
+     *                    against, 0 for cached verdicts and for words banned
+     *                    by their stem.
+     * @param nanos       How long the check took, in nanoseconds. Words found
+     *                    by the scan for banned phrases, which runs over the
+     *                    whole text, take 0 here and the scan is part of the
+     *                    time of the operation.
+     */
+    void recordBannedWordCheck(boolean banned, boolean cached, int comparisons, long nanos);
+
+    /**
+     * The measured operations.
+     */
+    enum Operation {
+        /**
+         * {@link ArabicServices#removeTashkeel(String)}.
+         */
+        REMOVE_TASHKEEL,
+        /**
+         * {@link ArabicServices#removeTatweel(String)}.
+         */
+        REMOVE_TATWEEL,
+        /**
+         * {@link ArabicServices#textToOldArabic(String)}.
+         */
+        TEXT_TO_OLD_ARABIC,
+        /**
+         * {@link ArabicServices#tashfeer(String)} and its seeded and keyed
+         * forms.
+         */
+        TASHFEER,
+        /**
+         * {@link ArabicTextProcessor#tashfeerBannedWords(String)} and the
+         * {@link ArabicServices} methods of the same name, streaming ones
+         * included; a stream records the chars it read as its input length,
+         * up to {@link Integer#MAX_VALUE}.
+         */
+        TASHFEER_BANNED_WORDS,
+        /**
+         * {@link ArabicTextProcessor#toOldArabicAndTashfeerBannedWords(String)}
+         * and the {@link ArabicServices} methods of the same name.
+         */
+        TO_OLD_ARABIC_AND_TASHFEER_BANNED_WORDS,
+        /**
+         * {@link ArabicPipeline#apply(String)}, whatever its stages.
+         */
+        PIPELINE
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ArabicMetrics} that keeps everything in memory, to be read by a
+ * monitoring endpoint or a test.
+ *
+ * For example
+ * <pre>{@code
+ * ArabicMetricsRecorder metrics = new ArabicMetricsRecorder();
+ * ArabicServices.setDefaultProcessor(ArabicTextProcessor.builder().metrics(metrics).build());
+ * ...
+ * metrics.latency(ArabicMetrics.Operation.TASHFEER_BANNED_WORDS).valueAtPercentile(99);
+ * metrics.bannedWordHitRate();
+ * }</pre>
+ *
+ * Every counter is lock-free, so recording from many threads does not
+ * serialize them.
+ */
+public final class ArabicMetricsRecorder implements ArabicMetrics {
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> inputLengths = new EnumMap<>(Operation.class);
+    private final Histogram checkLatency = new Histogram();
+    private final Histogram comparisons = new Histogram();
+    private final LongAdder bannedWords = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+
+    /**
+     * Creates a recorder with every counter at zero.
+     */
+    public ArabicMetricsRecorder() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Histogram());
+            inputLengths.put(operation, new Histogram());
+        }
+    }
+
+    @Override
+    public void recordOperation(Operation operation, int inputLength, long nanos) {
+        latencies.get(operation).record(nanos);
+        inputLengths.get(operation).record(inputLength);
+    }
+
+    @Override
+    public void recordBannedWordCheck(boolean banned, boolean cached, int comparisons, long nanos) {
+        checkLatency.record(nanos);
+        this.comparisons.record(comparisons);
+        if (banned) {
+            bannedWords.increment();
+        }
+        if (cached) {
+            cacheHits.increment();
+        }
+    }
+
+    /**
+     * @param operation The operation {@link Operation}
+     * @return The number of calls of the operation.
+     */
+    public long calls(Operation operation) {
+        return latency(operation).count();
+    }
+
+    /**
+     * @param operation The operation {@link Operation}
+     * @return The latencies of the operation in nanoseconds {@link Histogram}
+     */
+    public Histogram latency(Operation operation) {
+        return latencies.get(Objects.requireNonNull(operation, Data.OPERATION_NULL_MESSAGE));
+    }
+
+    /**
+     * @param operation The operation {@link Operation}
+     * @return The lengths of the inputs of the operation in chars
+     *         {@link Histogram}
+     */
+    public Histogram inputLength(Operation operation) {
+        return inputLengths.get(Objects.requireNonNull(operation, Data.OPERATION_NULL_MESSAGE));
+    }
+
+    /**
+     * @return The number of banned word checks.
+     */
+    public long bannedWordChecks() {
+        return checkLatency.count();
+    }
+
+    /**
+     * @return The number of checked words that were banned.
+     */
+    public long bannedWords() {
+        return bannedWords.sum();
+    }
+
+    /**
+     * @return The share of checked words that were banned, from 0 to 1.
+     */
+    public double bannedWordHitRate() {
+        long checks = bannedWordChecks();
+        return checks == 0 ? 0 : (double) bannedWords() / checks;
+    }
+
+    /**
+     * @return The number of checks answered by the verdict cache.
+     */
+    public long cacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * @return The latencies of banned word checks in nanoseconds
+     *         {@link Histogram}
+     */
+    public Histogram bannedWordCheckLatency() {
+        return checkLatency;
+    }
+
+    /**
+     * @return The number of banned words each check was compared against
+     *         {@link Histogram}
+     */
+    public Histogram comparisons() {
+        return comparisons;
+    }
+}
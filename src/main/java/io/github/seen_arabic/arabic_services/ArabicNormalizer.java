@@ -0,0 +1,83 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * Single-pass normalization engine used by {@link ArabicServices}.
+ *
+ * Characters are classified through the {@link ArabicCharClass} table, so
+ * every lookup is an array access instead of a regular expression.
+ */
+final class ArabicNormalizer {
+    static final char ALEF = 'ا';
+    static final char ALEF_WASLA = 'ٱ';
+    static final char TATWEEL = 'ـ';
+    /** The chars {@link #removeTashkeel(String)} rewrites. */
+    private static final CharRanges TASHKEEL_AND_WASLA = CharRanges.matching(
+            c -> c == ALEF_WASLA || ArabicCharClass.isTashkeel((char) c));
+    /** The output is built here and copied into the result. */
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[256]);
+
+    private ArabicNormalizer() {
+    }
+
+    /**
+     * Strips tashkeel and normalizes alef wasla to a plain alef in one pass.
+     * Returns the same instance when the text has nothing to rewrite.
+     */
+    static String removeTashkeel(String text) {
+        int i = FastScan.indexOfAny(text, 0, TASHKEEL_AND_WASLA);
+        if (i < 0) {
+            return text;
+        }
+        int length = text.length();
+
+        char[] output = scratch(length);
+        text.getChars(0, i, output, 0);
+        int size = i;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (ArabicCharClass.isTashkeel(c)) {
+                continue;
+            }
+            output[size++] = c == ALEF_WASLA ? ALEF : c;
+        }
+        return new String(output, 0, size);
+    }
+
+    /**
+     * {@link String#indexOf(int)} is already vectorized by the JIT.
+     */
+    static String removeTatweel(String text) {
+        int i = text.indexOf(TATWEEL);
+        if (i < 0) {
+            return text;
+        }
+        int length = text.length();
+
+        char[] output = scratch(length);
+        text.getChars(0, i, output, 0);
+        int size = i;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c != TATWEEL) {
+                output[size++] = c;
+            }
+        }
+        return new String(output, 0, size);
+    }
+
+    /**
+     * Buffers longer than {@link ScratchBuilder#MAX_CAPACITY} are used once
+     * and not kept.
+     */
+    private static char[] scratch(int size) {
+        char[] buffer = SCRATCH.get();
+        if (buffer.length >= size) {
+            return buffer;
+        }
+        buffer = new char[Math.max(size, buffer.length * 2)];
+        if (buffer.length <= ScratchBuilder.MAX_CAPACITY) {
+            SCRATCH.set(buffer);
+        }
+        return buffer;
+    }
+}
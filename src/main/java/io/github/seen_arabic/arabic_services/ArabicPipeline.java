@@ -0,0 +1,218 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * A chain of {@link ArabicServices} transforms fused into a single pass.
+ *
+ * For example
+ * <pre>{@code
+ * ArabicPipeline pipeline = ArabicPipeline.builder()
+ *         .removeTashkeel()
+ *         .removeTatweel()
+ *         .toOldArabic()
+ *         .tashfeerBanned(2)
+ *         .build();
+ * String result = pipeline.apply(text);
+ * }</pre>
+ *
+ * The text is tokenized once and every word is written straight into one
+ * output buffer, instead of each transform making its own copy of the text.
+ * Whatever order the stages are added in, they run as follows: tashkeel and
+ * tatweel are removed first, then each banned word gets tashfeer and every
+ * other word is converted to old Arabic. Whitespace and punctuation between
+ * words are kept as they are, see {@link ArabicTokenizer}.
+ *
+ * A pipeline is immutable and can be shared between threads. Banned words are
+ * looked up and encrypted by {@link ArabicServices#getDefaultProcessor()} as
+ * it is when {@link #apply(String)} is called, with its dictionary, its key
+ * or source of randomness and its cache, so a processor with a key gives the
+ * same output as {@link ArabicServices#tashfeerBannedWords(String)}. Each
+ * call is reported to the metrics of that processor. The level of tashfeer
+ * is the one given to {@link Builder#tashfeerBanned(int)}.
+ */
+public final class ArabicPipeline implements UnaryOperator<String> {
+    private static final int NO_TASHFEER = -1;
+    private static final ScratchBuilder OUTPUT = new ScratchBuilder();
+    private static final ScratchBuilder WORD = new ScratchBuilder();
+
+    private final boolean removeTashkeel;
+    private final boolean removeTatweel;
+    private final boolean toOldArabic;
+    private final int levelOfTashfeer;
+
+    private ArabicPipeline(Builder builder) {
+        this.removeTashkeel = builder.removeTashkeel;
+        this.removeTatweel = builder.removeTatweel;
+        this.toOldArabic = builder.toOldArabic;
+        this.levelOfTashfeer = builder.levelOfTashfeer;
+    }
+
+    /**
+     * @return A builder for a pipeline with no stages {@link Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs every stage of the pipeline over the text.
+     *
+     * @param text The input string {@link String}
+     * @return The resulting string {@link String}
+     */
+    @Override
+    public String apply(String text) {
+        Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
+        ArabicTextProcessor processor = ArabicServices.getDefaultProcessor();
+        ArabicMetrics metrics = processor.metrics();
+        long start = 0;
+        if (metrics.isEnabled()) {
+            metrics.operationStarted(ArabicMetrics.Operation.PIPELINE);
+            start = System.nanoTime();
+        }
+        String result = apply(text, processor);
+        if (metrics.isEnabled()) {
+            metrics.recordOperation(ArabicMetrics.Operation.PIPELINE, text.length(), System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    private String apply(String text, ArabicTextProcessor processor) {
+        StringBuilder output = OUTPUT.take(text.length());
+        StringBuilder word = WORD.take(16);
+        if (levelOfTashfeer == NO_TASHFEER) {
+            ArabicTokenizer tokenizer = new ArabicTokenizer(text);
+            while (tokenizer.next()) {
+                if (tokenizer.isWord()) {
+                    appendWord(text, tokenizer.start(), tokenizer.end(), null, word, output);
+                } else {
+                    output.append(text, tokenizer.start(), tokenizer.end());
+                }
+            }
+            WORD.release(word);
+            return OUTPUT.finish(output);
+        }
+        BannedWordFilter filter = processor.filter();
+        WordTashfeer tashfeer = processor.tashfeer();
+        // The phrase scan and the word checks share one canonical form
+        CanonicalText canonical = new CanonicalText(text);
+        BannedPhraseMatcher.Spans phrases = filter.phraseSpans(canonical);
+        for (int token = 0; token < canonical.size(); token++) {
+            int start = canonical.start(token);
+            int end = canonical.end(token);
+            if (canonical.isWord(token)) {
+                boolean banned = filter.isBannedCanonical(canonical.canonical(token), phrases.covers(start, end));
+                appendWord(text, start, end, banned ? tashfeer : null, word, output);
+            } else {
+                output.append(text, start, end);
+            }
+        }
+        WORD.release(word);
+        return OUTPUT.finish(output);
+    }
+
+    /**
+     * @param tashfeer Encrypts the word if it is banned, null otherwise.
+     */
+    private void appendWord(String text, int start, int end, WordTashfeer tashfeer, StringBuilder word,
+            StringBuilder output) {
+        word.setLength(0);
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (removeTashkeel && ArabicCharClass.isTashkeel(c)) {
+                continue;
+            }
+            if (removeTatweel && c == ArabicNormalizer.TATWEEL) {
+                continue;
+            }
+            word.append(removeTashkeel && c == ArabicNormalizer.ALEF_WASLA ? ArabicNormalizer.ALEF : c);
+        }
+
+        if (tashfeer != null) {
+            output.append(tashfeer.encrypt(word.toString(), levelOfTashfeer));
+            return;
+        }
+        if (toOldArabic) {
+            OldArabicTransliterator.transliterate(word, 0, word.length(), output);
+        } else {
+            output.append(word);
+        }
+    }
+
+    /**
+     * Collects the stages of an {@link ArabicPipeline}.
+     */
+    public static final class Builder {
+        private boolean removeTashkeel;
+        private boolean removeTatweel;
+        private boolean toOldArabic;
+        private int levelOfTashfeer = NO_TASHFEER;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds {@link ArabicServices#removeTashkeel(String)}.
+         *
+         * @return This builder {@link Builder}
+         */
+        public Builder removeTashkeel() {
+            removeTashkeel = true;
+            return this;
+        }
+
+        /**
+         * Adds {@link ArabicServices#removeTatweel(String)}.
+         *
+         * @return This builder {@link Builder}
+         */
+        public Builder removeTatweel() {
+            removeTatweel = true;
+            return this;
+        }
+
+        /**
+         * Adds {@link ArabicServices#textToOldArabic(String)}, which skips banned
+         * words when {@link #tashfeerBanned(int)} is also added.
+         *
+         * @return This builder {@link Builder}
+         */
+        public Builder toOldArabic() {
+            toOldArabic = true;
+            return this;
+        }
+
+        /**
+         * Adds tashfeer of banned words with an encryption level of 2.
+         *
+         * @return This builder {@link Builder}
+         */
+        public Builder tashfeerBanned() {
+            return tashfeerBanned(2);
+        }
+
+        /**
+         * Adds tashfeer of banned words, as in
+         * {@link ArabicServices#tashfeerBannedWords(String, int)}.
+         *
+         * @param levelOfTashfeer The encryption level.
+         * @return This builder {@link Builder}
+         */
+        public Builder tashfeerBanned(int levelOfTashfeer) {
+            if (levelOfTashfeer < 0) {
+                throw new IllegalArgumentException("levelOfTashfeer must be not negative");
+            }
+            this.levelOfTashfeer = levelOfTashfeer;
+            return this;
+        }
+
+        /**
+         * @return The pipeline {@link ArabicPipeline}
+         */
+        public ArabicPipeline build() {
+            return new ArabicPipeline(this);
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package io.github.seen_arabic.arabic_services;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Random;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class ArabicServices {
 
+    private static final ThreadLocal<int[]> INDEX_SCRATCH = ThreadLocal.withInitial(() -> new int[32]);
+
+    private static volatile ArabicTextProcessor defaultProcessor = ArabicTextProcessor.defaultProcessor();
+
     private ArabicServices() {
     }
 
@@ -21,14 +25,39 @@ public class ArabicServices {
      * to
      * resulting string: "الخيل والليل والبيداء تعرفني"
      *
+     * Text without tashkeel is returned as the same instance, without a copy.
+     *
      * @param text The input string that contains tashkeel {@link String}
      * @return The resulting string (text without tashkeel) {@link String}
      */
     public static String removeTashkeel(String text) {
         Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
-        String allTashkeel = String.join(",", Data.TASHKEEL);
-        return text.replaceAll("[" + allTashkeel + "]", "")
-                .replace("ٱ", "ا");
+        ArabicMetrics metrics = defaultProcessor.metrics();
+        long start = 0;
+        if (metrics.isEnabled()) {
+            metrics.operationStarted(ArabicMetrics.Operation.REMOVE_TASHKEEL);
+            start = System.nanoTime();
+        }
+        String result = ArabicNormalizer.removeTashkeel(text);
+        if (metrics.isEnabled()) {
+            metrics.recordOperation(ArabicMetrics.Operation.REMOVE_TASHKEEL, text.length(), System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    /**
+     * Streaming form of {@link #removeTashkeel(String)} for large documents.
+     * The input is processed in chunks, so memory use does not grow with its
+     * size. Neither stream is closed.
+     *
+     * @param in  The text that contains tashkeel {@link Reader}
+     * @param out Receives the text without tashkeel {@link Writer}
+     * @throws IOException If reading or writing fails
+     */
+    public static void removeTashkeel(Reader in, Writer out) throws IOException {
+        Objects.requireNonNull(in, Data.READER_NULL_MESSAGE);
+        Objects.requireNonNull(out, Data.WRITER_NULL_MESSAGE);
+        ArabicStreams.removeTashkeel(in, out);
     }
 
     /**
@@ -39,12 +68,39 @@ public class ArabicServices {
      * to
      * resulting string: "جميل"
      *
+     * Text without tatweel is returned as the same instance, without a copy.
+     *
      * @param text The input string that contains tatweel {@link String}
      * @return The resulting string (text without tatweel) {@link String}
      */
     public static String removeTatweel(String text) {
         Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
-        return text.replace("ـ", "");
+        ArabicMetrics metrics = defaultProcessor.metrics();
+        long start = 0;
+        if (metrics.isEnabled()) {
+            metrics.operationStarted(ArabicMetrics.Operation.REMOVE_TATWEEL);
+            start = System.nanoTime();
+        }
+        String result = ArabicNormalizer.removeTatweel(text);
+        if (metrics.isEnabled()) {
+            metrics.recordOperation(ArabicMetrics.Operation.REMOVE_TATWEEL, text.length(), System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    /**
+     * Streaming form of {@link #removeTatweel(String)} for large documents.
+     * The input is processed in chunks, so memory use does not grow with its
+     * size. Neither stream is closed.
+     *
+     * @param in  The text that contains tatweel {@link Reader}
+     * @param out Receives the text without tatweel {@link Writer}
+     * @throws IOException If reading or writing fails
+     */
+    public static void removeTatweel(Reader in, Writer out) throws IOException {
+        Objects.requireNonNull(in, Data.READER_NULL_MESSAGE);
+        Objects.requireNonNull(out, Data.WRITER_NULL_MESSAGE);
+        ArabicStreams.removeTatweel(in, out);
     }
 
     /**
@@ -55,21 +111,46 @@ public class ArabicServices {
      * to
      * resulting string: "الحىل واللىل والٮىدا ٮعرڡٮى"
      *
+     * Text with nothing to change, Latin or digits for example, is returned
+     * as the same instance, without a copy.
+     *
      * @param text The input string that contains tashkeel and dots {@link String}
      * @return The resulting string (text without tashkeel or dots) {@link String}
      */
     public static String textToOldArabic(String text) {
         Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
-        text = removeTashkeel(text);
-        text = handleNoonIssue(text);
-        for (String letter : Data.LETTERS_DICT.keySet()) {
-            text = text.replace(letter, Data.LETTERS_DICT.get(letter));
+        ArabicMetrics metrics = defaultProcessor.metrics();
+        long start = 0;
+        if (metrics.isEnabled()) {
+            metrics.operationStarted(ArabicMetrics.Operation.TEXT_TO_OLD_ARABIC);
+            start = System.nanoTime();
         }
-        return text;
+        String result = OldArabicTransliterator.transliterate(text);
+        if (metrics.isEnabled()) {
+            metrics.recordOperation(ArabicMetrics.Operation.TEXT_TO_OLD_ARABIC, text.length(),
+                    System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    /**
+     * Streaming form of {@link #textToOldArabic(String)} for large documents.
+     * The input is processed in chunks, and a noon at the edge of a chunk
+     * still gets the right form. Neither stream is closed.
+     *
+     * @param in  The text that contains tashkeel and dots {@link Reader}
+     * @param out Receives the text without tashkeel or dots {@link Writer}
+     * @throws IOException If reading or writing fails
+     */
+    public static void textToOldArabic(Reader in, Writer out) throws IOException {
+        Objects.requireNonNull(in, Data.READER_NULL_MESSAGE);
+        Objects.requireNonNull(out, Data.WRITER_NULL_MESSAGE);
+        ArabicStreams.textToOldArabic(in, out);
     }
 
     /**
      * Tashfeer text.
+     * Whitespace and punctuation are kept as they are.
      *
      * For example
      * text: "هذه الجملة مشفرة"
@@ -80,12 +161,105 @@ public class ArabicServices {
      * @return The resulting string {@link String}
      */
     public static String tashfeer(String text) {
-        StringBuilder newSentence = new StringBuilder();
+        return tashfeer(text, WordTashfeer.of(ThreadLocalRandom.current()));
+    }
+
+    /**
+     * Tashfeer text reproducibly.
+     *
+     * The same text and seed always produce the same output, which makes the
+     * result safe to cache or deduplicate.
+     *
+     * @param text The input string {@link String}
+     * @param seed The seed for choosing letters and their replacements
+     * @return The resulting string {@link String}
+     */
+    public static String tashfeer(String text, long seed) {
+        return tashfeer(text, WordTashfeer.of(new Random(seed)));
+    }
+
+    /**
+     * Tashfeer text with a secret key.
+     *
+     * Each word is encrypted the same way wherever it appears under the same
+     * key, so repeated words look alike and outputs can be compared, while
+     * without the key the replacements cannot be predicted. Moderation tools
+     * holding the key can restore the text with
+     * {@link #untashfeerWithKey(String, byte[])}.
+     *
+     * @param text The input string {@link String}
+     * @param key  The 16 byte key.
+     * @return The resulting string {@link String}
+     */
+    public static String tashfeerWithKey(String text, byte[] key) {
+        return tashfeer(text, TashfeerKey.of(key));
+    }
+
+    /**
+     * Maps tashfeer glyphs back to letters, for reviewing encrypted text.
+     *
+     * Glyphs are shared by several letters, "ٮ" stands for "ب", "ت" and
+     * "ث", so this is a best guess: each glyph becomes the first letter it
+     * stands for and the added tatweel is removed. Words without glyphs are
+     * kept as they are.
+     *
+     * @param text The encrypted text {@link String}
+     * @return The text with the glyphs mapped back {@link String}
+     */
+    public static String untashfeer(String text) {
+        Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
+        return Untashfeer.untashfeer(text, null);
+    }
+
+    /**
+     * Restores text encrypted by {@link #tashfeerWithKey(String, byte[])}.
+     *
+     * The letters and glyphs each word was encrypted with are derived again
+     * from the key, so each glyph maps back to its own letter. Letters that
+     * share a glyph, "ب" and "ت" for "ٮ", can rarely both choose it at the
+     * same place, and then the first in alphabetical order is returned.
+     * Letter variants come back as their base letter, "أ" as "ا" and "ى" as
+     * "ي", and words that do not restore get the best guess of
+     * {@link #untashfeer(String)}.
+     *
+     * @param text The encrypted text {@link String}
+     * @param key  The 16 byte key the text was encrypted with.
+     * @return The restored text {@link String}
+     */
+    public static String untashfeerWithKey(String text, byte[] key) {
+        Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
+        TashfeerKey tashfeerKey = TashfeerKey.of(key);
+        return Untashfeer.untashfeer(text, word -> tashfeerKey.decrypt(word, 1));
+    }
+
+    private static String tashfeer(String text, WordTashfeer tashfeer) {
+        Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
+        ArabicMetrics metrics = defaultProcessor.metrics();
+        long start = 0;
+        if (metrics.isEnabled()) {
+            metrics.operationStarted(ArabicMetrics.Operation.TASHFEER);
+            start = System.nanoTime();
+        }
+        String result = tashfeerText(text, tashfeer);
+        if (metrics.isEnabled()) {
+            metrics.recordOperation(ArabicMetrics.Operation.TASHFEER, text.length(), System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    private static String tashfeerText(String text, WordTashfeer tashfeer) {
+        StringBuilder newSentence = new StringBuilder(text.length() * 2);
         int level = 1;
-        for (String word : text.split(" ")) {
-            newSentence.append(tashfeerHandler(word, level)).append(" ");
+        ArabicTokenizer tokenizer = new ArabicTokenizer(text);
+        while (tokenizer.next()) {
+            if (tokenizer.isWord()) {
+                String word = text.substring(tokenizer.start(), tokenizer.end());
+                newSentence.append(tashfeer.encrypt(word, level));
+            } else {
+                newSentence.append(text, tokenizer.start(), tokenizer.end());
+            }
         }
-        return newSentence.toString().trim();
+        return newSentence.toString();
     }
 
     /**
@@ -102,22 +276,25 @@ public class ArabicServices {
     public static String wordToLetters(String word) {
         StringBuilder newWord = new StringBuilder();
 
-        // Loop through each character in the input word
-        for (int i = 0; i < word.length(); i++) {
-            String letter = word.charAt(i) + "";
+        // Loop through each letter in the input word, a letter being a base
+        // character together with its tashkeel
+        for (int i = 0, end; i < word.length(); i = end) {
+            end = Graphemes.next(word, i);
+            String pronounced = Data.pronouncedLetter(word.charAt(i));
 
-            // Check if the current letter has a pronunciation in PRONOUNCED_LETTERS
-            if (Data.PRONOUNCED_LETTERS.containsKey(letter)) {
-                newWord.append(Data.PRONOUNCED_LETTERS.get(letter));
+            // Check if the current letter has a pronunciation
+            if (pronounced != null) {
+                // The tashkeel of a spelled out letter is dropped
+                newWord.append(pronounced);
 
                 // Add a space after the pronounced letter unless it's the last letter in the
                 // word
-                if (i != word.length() - 1) {
+                if (end != word.length()) {
                     newWord.append(' ');
                 }
             } else {
-                // If the letter is not in PRONOUNCED_LETTERS, keep it unchanged
-                newWord.append(letter);
+                // If the letter has no pronunciation, keep it unchanged
+                newWord.append(word, i, end);
             }
         }
 
@@ -139,23 +316,88 @@ public class ArabicServices {
      *         original word if no affix matches are found. {@link String}
      */
     public static String removeArabicAffixes(String word) {
-        if (word.isEmpty()) {
-            return word;
-        }
-        if (Data.ARABIC_PREFIXES.contains(word.substring(0, 2))) {
-            // For: ALEF & LAM
-            word = word.substring(2);
-        } else if (Data.ARABIC_PREFIXES.contains(word.substring(0, 1))) {
-            word = word.substring(1);
-        }
+        return ArabicAffixStripper.defaultStripper().strip(word).trim();
+    }
+
+    /**
+     * Returns the banned word dictionary currently used by
+     * {@link #tashfeerBannedWords(String)} and
+     * {@link #toOldArabicAndTashfeerBannedWords(String)}.
+     *
+     * @return The current dictionary {@link BannedWordDictionary}.
+     */
+    public static BannedWordDictionary getBannedWordDictionary() {
+        return defaultProcessor.dictionary();
+    }
+
+    /**
+     * Replaces the banned word dictionary at runtime.
+     *
+     * The swap is atomic: a call that is already running keeps the dictionary
+     * it started with, and every call after this returns sees the new one.
+     *
+     * @param dictionary The new dictionary {@link BannedWordDictionary}.
+     */
+    public static synchronized void setBannedWordDictionary(BannedWordDictionary dictionary) {
+        defaultProcessor = defaultProcessor.toBuilder().dictionary(dictionary).build();
+    }
 
-        if (Data.ARABIC_SUFFIXES.contains(word.substring(word.length() - 2))) {
-            word = word.substring(0, word.length() - 2);
-        } else if (Data.ARABIC_SUFFIXES.contains(word.substring(word.length() - 1))) {
-            word = word.substring(0, word.length() - 1);
+    /**
+     * Caches banned word verdicts, keyed by word, so repeated words skip the
+     * stemming and the similarity search.
+     *
+     * The cache holds at most {@code maximumSize} words and evicts the least
+     * recently used ones. It starts empty, and is emptied again whenever
+     * {@link #setBannedWordDictionary(BannedWordDictionary)} installs a new
+     * dictionary.
+     *
+     * @param maximumSize The maximum number of cached words.
+     */
+    public static synchronized void enableBannedWordCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
         }
+        defaultProcessor = defaultProcessor.toBuilder().cacheSize(maximumSize).build();
+    }
 
-        return word.trim();
+    /**
+     * Stops caching banned word verdicts and drops the cache.
+     */
+    public static synchronized void disableBannedWordCache() {
+        defaultProcessor = defaultProcessor.toBuilder().cacheSize(0).build();
+    }
+
+    /**
+     * Returns the counters of the banned word cache since it was last
+     * emptied, all zero when the cache is disabled.
+     *
+     * @return The cache counters {@link CacheStats}.
+     */
+    public static CacheStats getBannedWordCacheStats() {
+        return defaultProcessor.cacheStats();
+    }
+
+    /**
+     * Returns the processor the banned word methods of this class delegate
+     * to.
+     *
+     * @return The default processor {@link ArabicTextProcessor}.
+     */
+    public static ArabicTextProcessor getDefaultProcessor() {
+        return defaultProcessor;
+    }
+
+    /**
+     * Replaces the processor the banned word methods of this class delegate
+     * to, and with it the dictionary, the similarity threshold, the affixes,
+     * the default encryption level, the source of randomness and the cache.
+     * Like {@link #setBannedWordDictionary(BannedWordDictionary)}, the swap is
+     * atomic.
+     *
+     * @param processor The new default processor {@link ArabicTextProcessor}.
+     */
+    public static synchronized void setDefaultProcessor(ArabicTextProcessor processor) {
+        defaultProcessor = Objects.requireNonNull(processor, Data.PROCESSOR_NULL_MESSAGE);
     }
 
     /**
@@ -168,13 +410,14 @@ public class ArabicServices {
      *         is 2 to banned words {@link String}.
      */
     public static String tashfeerBannedWords(String text) {
-        return tashfeerBannedWords(text, 2);
+        return defaultProcessor.tashfeerBannedWords(text);
     }
 
     /**
      * Performs tashfeer encryption on a given text, but only for words that are
      * considered "banned" words.
      * Banned words are determined based on a predefined similarity ratio.
+     * Everything else, whitespace and punctuation included, is kept as it is.
      *
      * @param text            The input text to be encrypted {@link String}.
      * @param levelOfTashfeer The encryption level (default is 2).
@@ -182,16 +425,44 @@ public class ArabicServices {
      *         {@link String}.
      */
     public static String tashfeerBannedWords(String text, int levelOfTashfeer) {
-        Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
-        StringBuilder newText = new StringBuilder();
-        for (String word : text.split(" ")) {
-            if (checkIfBannedWord(word)) {
-                newText.append(tashfeerHandler(word, levelOfTashfeer)).append(" ");
-            } else {
-                newText.append(word).append(" ");
-            }
-        }
-        return newText.toString().trim();
+        ArabicTextProcessor processor = defaultProcessor;
+        return processor.tashfeerBannedWords(text, levelOfTashfeer, processor.tashfeer());
+    }
+
+    /**
+     * Performs reproducible tashfeer encryption on a given text, but only for
+     * words that are considered "banned" words.
+     * The same text, level and seed always produce the same output.
+     *
+     * @param text            The input text to be encrypted {@link String}.
+     * @param levelOfTashfeer The encryption level (default is 2).
+     * @param seed            The seed for choosing letters and their
+     *                        replacements.
+     * @return The encrypted text with tashfeer applied to banned words
+     *         {@link String}.
+     */
+    public static String tashfeerBannedWords(String text, int levelOfTashfeer, long seed) {
+        return defaultProcessor.tashfeerBannedWords(text, levelOfTashfeer, WordTashfeer.of(new Random(seed)));
+    }
+
+    /**
+     * Streaming form of {@link #tashfeerBannedWords(String, int)} for large
+     * documents.
+     * The input is processed in chunks and words split across chunks are put
+     * back together. Words too long to match any banned word are copied
+     * through without being buffered, so memory use stays bounded. Words are
+     * checked one at a time, so banned phrases of several words are not
+     * looked for. Neither stream is closed.
+     *
+     * @param in              The text to be encrypted {@link Reader}.
+     * @param out             Receives the text with tashfeer applied to banned
+     *                        words {@link Writer}.
+     * @param levelOfTashfeer The encryption level (default is 2).
+     * @throws IOException If reading or writing fails.
+     */
+    public static void tashfeerBannedWords(Reader in, Writer out, int levelOfTashfeer) throws IOException {
+        ArabicTextProcessor processor = defaultProcessor;
+        processor.tashfeerBannedWords(in, out, levelOfTashfeer, processor.tashfeer());
     }
 
     /**
@@ -204,12 +475,13 @@ public class ArabicServices {
      *         applied to banned words.
      */
     public static String toOldArabicAndTashfeerBannedWords(String text) {
-        return toOldArabicAndTashfeerBannedWords(text, 2);
+        return defaultProcessor.toOldArabicAndTashfeerBannedWords(text);
     }
 
     /**
      * Converts words in a sentence to old Arabic while handling banned words with
      * tashfeer.
+     * Whitespace and punctuation are kept as they are.
      *
      * @param text            The input text to be processed.
      * @param levelOfTashfeer The level of tashfeer to apply to banned words.
@@ -217,34 +489,38 @@ public class ArabicServices {
      *         tashfeer applied to banned words.
      */
     public static String toOldArabicAndTashfeerBannedWords(String text, int levelOfTashfeer) {
-        StringBuilder result = new StringBuilder();
-        String[] words = text.trim().split("\\s+");
-        for (String word : words) {
-            if (checkIfBannedWord(word)) {
-                result.append(tashfeerHandler(word, levelOfTashfeer)).append(" ");
-            } else {
-                result.append(textToOldArabic(word)).append(" ");
-            }
-        }
-        return result.toString().trim();
+        ArabicTextProcessor processor = defaultProcessor;
+        return processor.toOldArabicAndTashfeerBannedWords(text, levelOfTashfeer, processor.tashfeer());
     }
 
-    private static String handleNoonIssue(String text) {
-        String arabicLetters = String.join("", Data.LETTERS_DICT.keySet()) + "ـ";
-        String regex = Data.NOON + "(" + "?=[^" + arabicLetters + "]" + ")|" + Data.NOON + "\\z";
-        text = text.replaceAll(regex, Data.LETTERS_DICT.get(Data.NOON));
-        return text.replace(Data.NOON, Data.LETTERS_DICT.get("ب"));
+    /**
+     * Converts words in a sentence to old Arabic while handling banned words with
+     * reproducible tashfeer.
+     * The same text, level and seed always produce the same output.
+     *
+     * @param text            The input text to be processed.
+     * @param levelOfTashfeer The level of tashfeer to apply to banned words.
+     * @param seed            The seed for choosing letters and their
+     *                        replacements.
+     * @return The processed text with words converted to old Arabic and
+     *         tashfeer applied to banned words.
+     */
+    public static String toOldArabicAndTashfeerBannedWords(String text, int levelOfTashfeer, long seed) {
+        return defaultProcessor.toOldArabicAndTashfeerBannedWords(text, levelOfTashfeer,
+                WordTashfeer.of(new Random(seed)));
     }
 
-    private static String tashfeerHandler(String word, int level) {
-        int wordLength = word.length();
-        int n = calculateEncryptionLevel(level, wordLength);
-        List<Integer> randomIndexes = getRandomIndexes(n, wordLength);
-        String outputWord = tashfeerWord(word, randomIndexes);
+    static String tashfeerHandler(String word, int level, Random random) {
+        // The level depends on the letters a reader sees, not on the tashkeel
+        // and tatweel written between them
+        int n = calculateEncryptionLevel(level, Graphemes.count(word));
+        int[] randomIndexes = indexScratch(word.length());
+        int count = getRandomIndexes(word, n, randomIndexes, random);
+        String outputWord = tashfeerWord(word, randomIndexes, count, random);
         return outputWord;
     }
 
-    private static int calculateEncryptionLevel(int level, int wordLength) {
+    static int calculateEncryptionLevel(int level, int wordLength) {
         // Check if the word length is less than or equal to 4
         if (wordLength <= 4) {
             // If so, return the minimum of (1 + level) and the word length
@@ -260,44 +536,45 @@ public class ArabicServices {
         }
     }
 
-    private static List<Integer> getRandomIndexes(int numOfIndexesToNeeded, int wordLength) {
-        // Create a Set to store unique random indexes
-        Set<Integer> randomIndexes = new HashSet<>();
-
-        // Continue generating random indexes until the desired number is reached
-        while (randomIndexes.size() != numOfIndexesToNeeded) {
-            // Generate a random index within the word length
-            randomIndexes.add(new Random().nextInt(wordLength));
+    private static int getRandomIndexes(String word, int numOfIndexesToNeeded, int[] indexes, Random random) {
+        // Collect the positions of the letters that can be replaced
+        int eligibleLetters = 0;
+        for (int i = 0; i < word.length(); i++) {
+            if (ArabicCharClass.isStandardLetter(word.charAt(i))) {
+                indexes[eligibleLetters++] = i;
+            }
         }
 
-        // Convert the Set to a TreeSet to sort the indexes
-        Set<Integer> sortedIndexes = new TreeSet<>(randomIndexes);
-
-        // Convert the TreeSet to an array
-        List<Integer> resultArray = new ArrayList<>();
-        int index = 0;
-        for (int value : sortedIndexes) {
-            resultArray.add(index++, value);
+        // Partial Fisher-Yates shuffle: move a random choice into each of the
+        // first slots, never asking for more letters than the word has
+        int count = Math.min(numOfIndexesToNeeded, eligibleLetters);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(eligibleLetters - i);
+            int chosen = indexes[j];
+            indexes[j] = indexes[i];
+            indexes[i] = chosen;
         }
 
-        return resultArray;
+        // Sort the chosen indexes so the word can be rewritten in one pass
+        Arrays.sort(indexes, 0, count);
+        return count;
     }
 
-    private static String tashfeerWord(String word, List<Integer> randomIndexes) {
-        StringBuilder outputWord = new StringBuilder();
+    private static String tashfeerWord(String word, int[] randomIndexes, int count, Random random) {
+        StringBuilder outputWord = new StringBuilder(word.length() + count);
+        int next = 0;
 
         for (int i = 0; i < word.length(); i++) {
-            // Check if the character is a standard Arabic letter and needs to be replaced
-            // and ignore any other character such as Latin or digits
-            // Also, check if the current index is in the list of random indexes for
-            // replacement
-            if (Data.STANDARD_LETTERS.contains(word.charAt(i))
-                    && randomIndexes.contains(i)) {
+            // Check if the current index is the next of the chosen indexes, which
+            // only point at standard Arabic letters
+            if (next < count && randomIndexes[next] == i) {
+                next++;
                 // Get the replacement letter for the current character
-                char letter = tashfeerCharacter(word.charAt(i));
+                char letter = tashfeerCharacter(word.charAt(i), random);
 
-                // Check if the previous character is not an "alone" letter
-                if (i != 0 && !Data.ALONE_LETTERS.contains(word.charAt(i - 1))) {
+                // Check if the previous letter, ignoring its tashkeel, is not an
+                // "alone" letter
+                if (i != 0 && !ArabicCharClass.isAloneLetter(Graphemes.previousBase(word, i))) {
                     // Add a Maddah character for better readability
                     outputWord.append('ـ');
                 }
@@ -313,88 +590,30 @@ public class ArabicServices {
         return outputWord.toString();
     }
 
-    private static char tashfeerCharacter(char character) {
-        if (Data.ALEF.contains(character)) {
-            character = 'ا';
+    private static int[] indexScratch(int size) {
+        int[] indexes = INDEX_SCRATCH.get();
+        if (indexes.length < size) {
+            indexes = new int[Math.max(size, indexes.length * 2)];
+            INDEX_SCRATCH.set(indexes);
         }
-        if (Data.WAW.contains(character)) {
+        return indexes;
+    }
+
+    private static char tashfeerCharacter(char character, Random random) {
+        int properties = ArabicCharClass.properties(character);
+        if ((properties & ArabicCharClass.ALEF_VARIANT) != 0) {
+            character = 'ا';
+        } else if ((properties & ArabicCharClass.WAW_VARIANT) != 0) {
             character = 'و';
-        }
-        if (Data.YAA.contains(character)) {
+        } else if ((properties & ArabicCharClass.YAA_VARIANT) != 0) {
             character = 'ي';
         }
 
         // Get the list of possible replacement characters for the input character
-        String[] replacementCharList = Data.LETTERS_TASHFEER_REPLACEMENT_DICT.get(character);
+        char[] replacementCharList = Data.tashfeerReplacements(character);
         // Generate a random index to select a replacement character
-        Random random = new Random();
         int randomIndex = random.nextInt(replacementCharList.length);
         // Get the randomly selected replacement character
-        char replacementCharacter = replacementCharList[randomIndex].charAt(0);
-        return replacementCharacter;
-    }
-
-    private static double bannedSimilarityRatio(String string) {
-        double maximumSimilarity = -1;
-        for (String bannedWord : Data.BANNED_WORDS) {
-            double calculatedSimilarity = similarityScore(string, bannedWord);
-            if (calculatedSimilarity > maximumSimilarity) {
-                maximumSimilarity = calculatedSimilarity;
-            }
-        }
-        return maximumSimilarity * 100;
-    }
-
-    private static boolean checkIfBannedWord(String string) {
-        double stdRatio = 70;
-        return bannedSimilarityRatio(removeArabicAffixes(string)) >= stdRatio;
-    }
-
-    private static double similarityScore(String s1, String s2) {
-        String longer = s1;
-        String shorter = s2;
-
-        // swap them if s1 is bigger than s2
-        if (s1.length() < s2.length()) {
-            longer = s2;
-            shorter = s1;
-        }
-
-        int longerLength = longer.length();
-
-        // if both are empty strings return 1 (100% similarity)
-        if (longerLength == 0) {
-            return 1.0;
-        }
-
-        // calculate the similarity score
-        return (double) (longerLength - editDistance(longer, shorter)) / (double) longerLength;
-    }
-
-    private static int editDistance(String s1, String s2) {
-        s1 = s1.toLowerCase();
-        s2 = s2.toLowerCase();
-
-        int[] costs = new int[s2.length() + 1];
-
-        for (int i = 0; i <= s1.length(); i++) {
-            int lastValue = i;
-            for (int j = 0; j <= s2.length(); j++) {
-                if (i == 0) {
-                    costs[j] = j;
-                } else if (j > 0) {
-                    int newValue = costs[j - 1];
-                    if (s1.charAt(i - 1) != s2.charAt(j - 1)) {
-                        newValue = Math.min(Math.min(newValue, lastValue), costs[j]) + 1;
-                    }
-                    costs[j - 1] = lastValue;
-                    lastValue = newValue;
-                }
-            }
-            if (i > 0) {
-                costs[s2.length()] = lastValue;
-            }
-        }
-        return costs[s2.length()];
+        return replacementCharList[randomIndex];
     }
 }
@@ -0,0 +1,160 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Streaming implementations behind the {@link Reader}/{@link Writer}
+ * overloads in {@link ArabicServices}.
+ *
+ * Input is read in fixed size chunks, so memory stays bounded however large
+ * the document is. State that spans a chunk edge (a noon waiting for the
+ * letter after it, or a word cut in half) is carried over to the next chunk.
+ */
+final class ArabicStreams {
+    static final int BUFFER_SIZE = 8192;
+
+    private ArabicStreams() {
+    }
+
+    static void removeTashkeel(Reader in, Writer out) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            int size = 0;
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (!ArabicCharClass.isTashkeel(c)) {
+                    buffer[size++] = c == ArabicNormalizer.ALEF_WASLA ? ArabicNormalizer.ALEF : c;
+                }
+            }
+            out.write(buffer, 0, size);
+        }
+    }
+
+    static void removeTatweel(Reader in, Writer out) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            int size = 0;
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (c != ArabicNormalizer.TATWEEL) {
+                    buffer[size++] = c;
+                }
+            }
+            out.write(buffer, 0, size);
+        }
+    }
+
+    static void textToOldArabic(Reader in, Writer out) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        char[] output = new char[BUFFER_SIZE + 1];
+        OldArabicTransliterator.Chunked transliterator = new OldArabicTransliterator.Chunked();
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(output, 0, transliterator.transliterate(buffer, read, output));
+        }
+        out.write(output, 0, transliterator.finish(output));
+    }
+
+    /**
+     * @return The number of chars read.
+     */
+    static long tashfeerBannedWords(Reader in, Writer out, int levelOfTashfeer,
+            BannedWordFilter filter, WordTashfeer tashfeer) throws IOException {
+        int maxWordLength = filter.maxBannedWordLength();
+        char[] buffer = new char[BUFFER_SIZE];
+        StringBuilder word = new StringBuilder();
+        StringBuilder output = new StringBuilder(BUFFER_SIZE);
+        // Set once the current word is too long to be banned, its remaining
+        // characters are then copied straight through
+        boolean passThrough = false;
+        // Tashkeel, tatweel and a letter written a third time in a row do not
+        // count, canonicalization drops them
+        int letters = 0;
+        char previous = 0;
+        char beforePrevious = 0;
+        // Punctuation that tashfeer writes for a letter, "!" for "ا", read
+        // after an Arabic letter: it joins the word if an Arabic letter
+        // follows, see ArabicTokenizer
+        StringBuilder glyphs = new StringBuilder();
+        boolean afterArabic = false;
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                boolean isWord = ArabicTokenizer.typeOf(c) == ArabicTokenizer.TokenType.WORD;
+                if (ArabicTokenizer.isLetterGlyph(c) && (afterArabic || glyphs.length() > 0)
+                        && glyphs.length() < BUFFER_SIZE) {
+                    glyphs.append(c);
+                    continue;
+                }
+                if (glyphs.length() > 0) {
+                    if (ArabicTokenizer.isArabic(c, false)) {
+                        (passThrough ? output : word).append(glyphs);
+                        letters += glyphs.length();
+                    } else {
+                        appendWord(output, word, levelOfTashfeer, filter, tashfeer);
+                        output.append(glyphs);
+                        passThrough = false;
+                        letters = 0;
+                        previous = 0;
+                        beforePrevious = 0;
+                    }
+                    glyphs.setLength(0);
+                }
+                afterArabic = isWord && ArabicTokenizer.isArabic(c, true);
+                if (!isWord) {
+                    appendWord(output, word, levelOfTashfeer, filter, tashfeer);
+                    output.append(c);
+                    passThrough = false;
+                    letters = 0;
+                    previous = 0;
+                    beforePrevious = 0;
+                } else if (passThrough) {
+                    output.append(c);
+                } else {
+                    word.append(c);
+                    if (!ArabicCharClass.has(c, ArabicCharClass.TASHKEEL | ArabicCharClass.TATWEEL)) {
+                        if (c != previous || c != beforePrevious) {
+                            letters++;
+                        }
+                        beforePrevious = previous;
+                        previous = c;
+                    }
+                    // Repeated letters do not count, so a buffer full of one
+                    // word is the limit that keeps memory bounded
+                    if (letters > maxWordLength || word.length() > BUFFER_SIZE) {
+                        output.append(word);
+                        word.setLength(0);
+                        passThrough = true;
+                    }
+                }
+            }
+            out.append(output);
+            output.setLength(0);
+        }
+        appendWord(output, word, levelOfTashfeer, filter, tashfeer);
+        output.append(glyphs);
+        out.append(output);
+        return total;
+    }
+
+    private static void appendWord(StringBuilder output, StringBuilder word, int levelOfTashfeer,
+            BannedWordFilter filter, WordTashfeer tashfeer) {
+        if (word.length() == 0) {
+            return;
+        }
+        String current = word.toString();
+        if (filter.isBanned(current)) {
+            output.append(tashfeer.encrypt(current, levelOfTashfeer));
+        } else {
+            output.append(current);
+        }
+        word.setLength(0);
+    }
+}
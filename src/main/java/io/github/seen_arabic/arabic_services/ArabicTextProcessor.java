@@ -0,0 +1,439 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * A configured instance of the banned word services of
+ * {@link ArabicServices}.
+ *
+ * For example
+ * <pre>{@code
+ * ArabicTextProcessor processor = ArabicTextProcessor.builder()
+ *         .dictionary(BannedWordDictionary.load(path))
+ *         .similarityThreshold(80)
+ *         .levelOfTashfeer(1)
+ *         .cacheSize(10_000)
+ *         .metrics(new ArabicMetricsRecorder())
+ *         .build();
+ * String result = processor.tashfeerBannedWords(text);
+ * }</pre>
+ *
+ * Everything a processor needs, the dictionary indexes, the affix tries and
+ * the verdict cache, is built when {@link Builder#build()} is called, so each
+ * call only does the work for its own text. A processor is immutable apart
+ * from its cache and can be shared between threads, and services that need
+ * several configurations, one per tenant for example, keep one processor for
+ * each. The static methods of {@link ArabicServices} delegate to a default
+ * processor, see {@link ArabicServices#setDefaultProcessor(ArabicTextProcessor)}.
+ *
+ * The settings apply to every way banned words are handled: the methods of
+ * the processor and of {@link ArabicServices}, text or streams, and
+ * {@link ArabicPipeline}, which uses the default processor apart from its own
+ * level of tashfeer. Each of them reports to the metrics of the processor.
+ */
+public final class ArabicTextProcessor {
+    private static final ArabicTextProcessor DEFAULT = builder().build();
+    private static final ScratchBuilder OUTPUT = new ScratchBuilder();
+
+    private final BannedWordDictionary dictionary;
+    private final ArabicAffixStripper affixStripper;
+    private final double similarityThreshold;
+    private final int levelOfTashfeer;
+    private final Supplier<? extends Random> randomSource;
+    private final TashfeerKey key;
+    private final ArabicMetrics metrics;
+    private final BannedWordFilter filter;
+
+    private ArabicTextProcessor(Builder builder) {
+        this.dictionary = builder.dictionary;
+        this.affixStripper = builder.affixStripper;
+        this.similarityThreshold = builder.similarityThreshold;
+        this.levelOfTashfeer = builder.levelOfTashfeer;
+        this.randomSource = builder.randomSource;
+        this.key = builder.key;
+        this.metrics = builder.metrics;
+        this.filter = new BannedWordFilter(dictionary, affixStripper, similarityThreshold, builder.cacheSize,
+                metrics);
+    }
+
+    /**
+     * The processor with the library defaults: the default dictionary and
+     * affixes, a similarity threshold of 70, an encryption level of 2, random
+     * tashfeer, no cache and no metrics.
+     *
+     * @return The default processor {@link ArabicTextProcessor}
+     */
+    public static ArabicTextProcessor defaultProcessor() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return A builder that starts from the library defaults {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a builder that starts from the settings of this processor. The
+     * processor it builds shares the dictionary, but gets its own cache.
+     *
+     * @return A builder with the settings of this processor {@link Builder}
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.dictionary = dictionary;
+        builder.affixStripper = affixStripper;
+        builder.similarityThreshold = similarityThreshold;
+        builder.levelOfTashfeer = levelOfTashfeer;
+        builder.randomSource = randomSource;
+        builder.key = key;
+        builder.cacheSize = filter.cacheSize();
+        builder.metrics = metrics;
+        return builder;
+    }
+
+    /**
+     * Checks if a word is banned, see
+     * {@link BannedWordDictionary#isBanned(String)}, with the affixes and the
+     * similarity threshold of this processor.
+     *
+     * @param word The word to check {@link String}
+     * @return true if the word is banned.
+     */
+    public boolean isBanned(String word) {
+        Objects.requireNonNull(word, Data.WORD_NULL_MESSAGE);
+        return filter.isBanned(word);
+    }
+
+    /**
+     * Performs tashfeer encryption on the banned words of a text, see
+     * {@link ArabicServices#tashfeerBannedWords(String, int)}.
+     *
+     * @param text The input text to be encrypted {@link String}
+     * @return The encrypted text with tashfeer applied to banned words
+     *         {@link String}
+     */
+    public String tashfeerBannedWords(String text) {
+        return tashfeerBannedWords(text, levelOfTashfeer, tashfeer());
+    }
+
+    /**
+     * Converts a text to old Arabic while handling banned words with tashfeer,
+     * see {@link ArabicServices#toOldArabicAndTashfeerBannedWords(String, int)}.
+     *
+     * @param text The input text to be processed {@link String}
+     * @return The processed text with words converted to old Arabic and
+     *         tashfeer applied to banned words {@link String}
+     */
+    public String toOldArabicAndTashfeerBannedWords(String text) {
+        return toOldArabicAndTashfeerBannedWords(text, levelOfTashfeer, tashfeer());
+    }
+
+    /**
+     * Streaming form of {@link #tashfeerBannedWords(String)}, see
+     * {@link ArabicServices#tashfeerBannedWords(Reader, Writer, int)}.
+     *
+     * @param in  The text to be encrypted {@link Reader}
+     * @param out Receives the text with tashfeer applied to banned words
+     *            {@link Writer}
+     * @throws IOException If reading or writing fails.
+     */
+    public void tashfeerBannedWords(Reader in, Writer out) throws IOException {
+        tashfeerBannedWords(in, out, levelOfTashfeer, tashfeer());
+    }
+
+    /**
+     * Restores text encrypted by this processor.
+     *
+     * If the processor has a key, see {@link Builder#key(byte[])}, each
+     * encrypted word is restored from the key, see
+     * {@link ArabicServices#untashfeerWithKey(String, byte[])}, and the other
+     * words are kept as they are. Otherwise glyphs get the best guess of
+     * {@link ArabicServices#untashfeer(String)}.
+     *
+     * @param text The encrypted text {@link String}
+     * @return The restored text {@link String}
+     */
+    public String untashfeer(String text) {
+        Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
+        if (key == null) {
+            return Untashfeer.untashfeer(text, null);
+        }
+        return Untashfeer.untashfeer(text, word -> key.decrypt(word, levelOfTashfeer));
+    }
+
+    /**
+     * @return The banned word dictionary {@link BannedWordDictionary}
+     */
+    public BannedWordDictionary dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return The affix stripper applied before comparing words
+     *         {@link ArabicAffixStripper}
+     */
+    public ArabicAffixStripper affixStripper() {
+        return affixStripper;
+    }
+
+    /**
+     * @return The minimum similarity percentage for a word to be banned.
+     */
+    public double similarityThreshold() {
+        return similarityThreshold;
+    }
+
+    /**
+     * @return The encryption level of tashfeer.
+     */
+    public int levelOfTashfeer() {
+        return levelOfTashfeer;
+    }
+
+    /**
+     * @return The maximum number of cached verdicts, 0 if there is no cache.
+     */
+    public int cacheSize() {
+        return filter.cacheSize();
+    }
+
+    /**
+     * @return The counters of the verdict cache {@link CacheStats}
+     */
+    public CacheStats cacheStats() {
+        return filter.cacheStats();
+    }
+
+    /**
+     * @return The metrics this processor reports to {@link ArabicMetrics}
+     */
+    public ArabicMetrics metrics() {
+        return metrics;
+    }
+
+    BannedWordFilter filter() {
+        return filter;
+    }
+
+    WordTashfeer tashfeer() {
+        return key != null ? key : WordTashfeer.of(randomSource.get());
+    }
+
+    String tashfeerBannedWords(String text, int levelOfTashfeer, WordTashfeer tashfeer) {
+        Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
+        long start = 0;
+        if (metrics.isEnabled()) {
+            metrics.operationStarted(ArabicMetrics.Operation.TASHFEER_BANNED_WORDS);
+            start = System.nanoTime();
+        }
+        CanonicalText canonical = new CanonicalText(text);
+        BannedPhraseMatcher.Spans phrases = filter.phraseSpans(canonical);
+        StringBuilder newText = OUTPUT.take(text.length());
+        for (int token = 0; token < canonical.size(); token++) {
+            int wordStart = canonical.start(token);
+            int wordEnd = canonical.end(token);
+            if (canonical.isWord(token) && filter.isBannedCanonical(canonical.canonical(token),
+                    phrases.covers(wordStart, wordEnd))) {
+                newText.append(tashfeer.encrypt(text.substring(wordStart, wordEnd), levelOfTashfeer));
+                continue;
+            }
+            // Anything that is not a banned word is copied through unchanged
+            newText.append(text, wordStart, wordEnd);
+        }
+        if (metrics.isEnabled()) {
+            metrics.recordOperation(ArabicMetrics.Operation.TASHFEER_BANNED_WORDS, text.length(),
+                    System.nanoTime() - start);
+        }
+        return OUTPUT.finish(newText);
+    }
+
+    String toOldArabicAndTashfeerBannedWords(String text, int levelOfTashfeer, WordTashfeer tashfeer) {
+        Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
+        long start = 0;
+        if (metrics.isEnabled()) {
+            metrics.operationStarted(ArabicMetrics.Operation.TO_OLD_ARABIC_AND_TASHFEER_BANNED_WORDS);
+            start = System.nanoTime();
+        }
+        CanonicalText canonical = new CanonicalText(text);
+        BannedPhraseMatcher.Spans phrases = filter.phraseSpans(canonical);
+        StringBuilder result = OUTPUT.take(text.length());
+        for (int token = 0; token < canonical.size(); token++) {
+            int wordStart = canonical.start(token);
+            int wordEnd = canonical.end(token);
+            if (!canonical.isWord(token)) {
+                // Whitespace and punctuation are copied through unchanged
+                result.append(text, wordStart, wordEnd);
+                continue;
+            }
+            if (filter.isBannedCanonical(canonical.canonical(token), phrases.covers(wordStart, wordEnd))) {
+                result.append(tashfeer.encrypt(text.substring(wordStart, wordEnd), levelOfTashfeer));
+            } else {
+                OldArabicTransliterator.transliterate(text, wordStart, wordEnd, result);
+            }
+        }
+        if (metrics.isEnabled()) {
+            metrics.recordOperation(ArabicMetrics.Operation.TO_OLD_ARABIC_AND_TASHFEER_BANNED_WORDS, text.length(),
+                    System.nanoTime() - start);
+        }
+        return OUTPUT.finish(result);
+    }
+
+    void tashfeerBannedWords(Reader in, Writer out, int levelOfTashfeer, WordTashfeer tashfeer) throws IOException {
+        Objects.requireNonNull(in, Data.READER_NULL_MESSAGE);
+        Objects.requireNonNull(out, Data.WRITER_NULL_MESSAGE);
+        long start = 0;
+        if (metrics.isEnabled()) {
+            metrics.operationStarted(ArabicMetrics.Operation.TASHFEER_BANNED_WORDS);
+            start = System.nanoTime();
+        }
+        long length = ArabicStreams.tashfeerBannedWords(in, out, levelOfTashfeer, filter, tashfeer);
+        if (metrics.isEnabled()) {
+            metrics.recordOperation(ArabicMetrics.Operation.TASHFEER_BANNED_WORDS,
+                    (int) Math.min(length, Integer.MAX_VALUE), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Collects the settings of an {@link ArabicTextProcessor}.
+     */
+    public static final class Builder {
+        private BannedWordDictionary dictionary = BannedWordDictionary.defaultDictionary();
+        private ArabicAffixStripper affixStripper = ArabicAffixStripper.defaultStripper();
+        private double similarityThreshold = BannedWordIndex.DEFAULT_SIMILARITY_THRESHOLD;
+        private int levelOfTashfeer = 2;
+        private Supplier<? extends Random> randomSource = ThreadLocalRandom::current;
+        private TashfeerKey key;
+        private int cacheSize;
+        private ArabicMetrics metrics = ArabicMetrics.NOOP;
+
+        private Builder() {
+        }
+
+        /**
+         * @param dictionary The banned words {@link BannedWordDictionary}
+         * @return This builder {@link Builder}
+         */
+        public Builder dictionary(BannedWordDictionary dictionary) {
+            this.dictionary = Objects.requireNonNull(dictionary, Data.DICTIONARY_NULL_MESSAGE);
+            return this;
+        }
+
+        /**
+         * @param affixStripper Removes affixes before words are compared
+         *                      {@link ArabicAffixStripper}
+         * @return This builder {@link Builder}
+         */
+        public Builder affixStripper(ArabicAffixStripper affixStripper) {
+            this.affixStripper = Objects.requireNonNull(affixStripper, Data.AFFIX_STRIPPER_NULL_MESSAGE);
+            return this;
+        }
+
+        /**
+         * @param similarityThreshold The minimum similarity percentage for a
+         *                            word to be banned, above 0 and at most
+         *                            100 (default is 70).
+         * @return This builder {@link Builder}
+         */
+        public Builder similarityThreshold(double similarityThreshold) {
+            if (!(similarityThreshold > 0 && similarityThreshold <= 100)) {
+                throw new IllegalArgumentException("similarityThreshold must be between 0 and 100");
+            }
+            this.similarityThreshold = similarityThreshold;
+            return this;
+        }
+
+        /**
+         * @param levelOfTashfeer The encryption level (default is 2).
+         * @return This builder {@link Builder}
+         */
+        public Builder levelOfTashfeer(int levelOfTashfeer) {
+            if (levelOfTashfeer < 0) {
+                throw new IllegalArgumentException("levelOfTashfeer must be not negative");
+            }
+            this.levelOfTashfeer = levelOfTashfeer;
+            return this;
+        }
+
+        /**
+         * Sets where tashfeer gets its randomness. The source is asked for a
+         * {@link Random} once per call, and by default returns
+         * {@link ThreadLocalRandom#current()}.
+         *
+         * @param randomSource The source of randomness {@link Supplier}
+         * @return This builder {@link Builder}
+         */
+        public Builder randomSource(Supplier<? extends Random> randomSource) {
+            this.randomSource = Objects.requireNonNull(randomSource, Data.RANDOM_SOURCE_NULL_MESSAGE);
+            this.key = null;
+            return this;
+        }
+
+        /**
+         * Makes tashfeer reproducible: every call starts from a
+         * {@link Random} with this seed, so the same text always gives the
+         * same output.
+         *
+         * @param seed The seed for choosing letters and their replacements.
+         * @return This builder {@link Builder}
+         */
+        public Builder seed(long seed) {
+            return randomSource(() -> new Random(seed));
+        }
+
+        /**
+         * Makes tashfeer keyed: each banned word is encrypted the same way
+         * wherever it appears, from the SipHash of the key and the word, and
+         * {@link ArabicTextProcessor#untashfeer(String)} can restore it.
+         * Without the key the replacements cannot be predicted. The key
+         * replaces the source of randomness until
+         * {@link #randomSource(Supplier)} or {@link #seed(long)} is called.
+         *
+         * @param key The 16 byte key.
+         * @return This builder {@link Builder}
+         */
+        public Builder key(byte[] key) {
+            this.key = TashfeerKey.of(key);
+            return this;
+        }
+
+        /**
+         * @param cacheSize The maximum number of cached banned word verdicts, 0
+         *                  for no cache (default is 0).
+         * @return This builder {@link Builder}
+         */
+        public Builder cacheSize(int cacheSize) {
+            if (cacheSize < 0) {
+                throw new IllegalArgumentException("cacheSize must be not negative");
+            }
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * @param metrics Receives the latency of every call and the outcome
+         *                of every banned word check, see
+         *                {@link ArabicMetrics} (default is
+         *                {@link ArabicMetrics#NOOP}).
+         * @return This builder {@link Builder}
+         */
+        public Builder metrics(ArabicMetrics metrics) {
+            this.metrics = Objects.requireNonNull(metrics, Data.METRICS_NULL_MESSAGE);
+            return this;
+        }
+
+        /**
+         * @return The processor {@link ArabicTextProcessor}
+         */
+        public ArabicTextProcessor build() {
+            return new ArabicTextProcessor(this);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.Objects;
+
+/**
+ * Zero-copy tokenizer over a {@link CharSequence}.
+ *
+ * The tokenizer is a cursor: each call to {@link #next()} moves it to the next
+ * span of the original text, which is either a word, a run of whitespace or a
+ * run of punctuation. Spans are reported as offsets, so no substrings are
+ * created and callers can copy the whitespace and punctuation spans through
+ * unchanged.
+ *
+ * All Unicode whitespace separates words, and so does punctuation, Arabic
+ * punctuation such as "،" "؛" "؟" included. Tashkeel and tatweel stay part of
+ * the word they are written in, and so does punctuation that tashfeer writes
+ * for a letter when it sits between Arabic letters: "ق!تل" is one word, where
+ * "!" stands for "ا", while "كان!" is a word and punctuation.
+ *
+ * For example
+ * <pre>{@code
+ * ArabicTokenizer tokenizer = new ArabicTokenizer(text);
+ * while (tokenizer.next()) {
+ *     if (tokenizer.type() == ArabicTokenizer.TokenType.WORD) {
+ *         // text.subSequence(tokenizer.start(), tokenizer.end()) is a word
+ *     }
+ * }
+ * }</pre>
+ *
+ * A tokenizer is not thread-safe, but it is cheap to create and can be
+ * {@link #reset(CharSequence) reset} to reuse it for another text.
+ */
+public final class ArabicTokenizer {
+    /**
+     * The kind of a span.
+     */
+    public enum TokenType {
+        /** Letters, digits, marks and any other character that forms words. */
+        WORD,
+        /** A run of whitespace. */
+        WHITESPACE,
+        /** A run of punctuation. */
+        PUNCTUATION
+    }
+
+    private static final TokenType[] TYPES = TokenType.values();
+    /** Precomputed types up to the end of the Arabic block. */
+    private static final byte[] TABLE = new byte[ArabicCharClass.ARABIC_BLOCK_START + ArabicCharClass.ARABIC_BLOCK_SIZE];
+
+    static {
+        for (char c = 0; c < TABLE.length; c++) {
+            TABLE[c] = (byte) computeType(c).ordinal();
+        }
+    }
+
+    private CharSequence text;
+    private int start;
+    private int end;
+    private TokenType type;
+
+    /**
+     * Creates a tokenizer positioned before the first span of the text.
+     *
+     * @param text The text to tokenize {@link CharSequence}
+     */
+    public ArabicTokenizer(CharSequence text) {
+        reset(text);
+    }
+
+    /**
+     * Moves the tokenizer before the first span of another text.
+     *
+     * @param text The text to tokenize {@link CharSequence}
+     * @return This tokenizer {@link ArabicTokenizer}
+     */
+    public ArabicTokenizer reset(CharSequence text) {
+        this.text = Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
+        this.start = 0;
+        this.end = 0;
+        this.type = null;
+        return this;
+    }
+
+    /**
+     * Moves to the next span.
+     *
+     * @return false once the end of the text is reached.
+     */
+    public boolean next() {
+        int length = text.length();
+        if (end >= length) {
+            type = null;
+            start = end;
+            return false;
+        }
+        start = end;
+        type = typeOf(text.charAt(start));
+        int i = start + 1;
+        while (i < length && (typeOf(text.charAt(i)) == type
+                || type == TokenType.WORD && isJoiningGlyph(text, i))) {
+            i++;
+        }
+        end = i;
+        return true;
+    }
+
+    /**
+     * @return The offset of the first char of the current span.
+     */
+    public int start() {
+        return start;
+    }
+
+    /**
+     * @return The offset after the last char of the current span.
+     */
+    public int end() {
+        return end;
+    }
+
+    /**
+     * @return The type of the current span {@link TokenType}, null before the
+     *         first or after the last span.
+     */
+    public TokenType type() {
+        return type;
+    }
+
+    /**
+     * @return true if the current span is a word.
+     */
+    public boolean isWord() {
+        return type == TokenType.WORD;
+    }
+
+    /**
+     * Returns the type of span a character belongs to.
+     *
+     * @param c The character to classify.
+     * @return The type of the character {@link TokenType}
+     */
+    public static TokenType typeOf(char c) {
+        return c < TABLE.length ? TYPES[TABLE[c]] : computeType(c);
+    }
+
+    /**
+     * Returns true if the char at an offset is punctuation that tashfeer
+     * writes for a letter and sits between Arabic letters, so it is part of
+     * the word around it. Tashkeel and tatweel may come before it.
+     */
+    static boolean isJoiningGlyph(CharSequence text, int i) {
+        if (!isLetterGlyph(text.charAt(i))) {
+            return false;
+        }
+        int before = i - 1;
+        while (before >= 0 && isLetterGlyph(text.charAt(before))) {
+            before--;
+        }
+        int after = i + 1;
+        while (after < text.length() && isLetterGlyph(text.charAt(after))) {
+            after++;
+        }
+        return before >= 0 && isArabic(text.charAt(before), true)
+                && after < text.length() && isArabic(text.charAt(after), false);
+    }
+
+    /**
+     * @return true if the char is punctuation that tashfeer writes for a
+     *         letter, "!" for "ا".
+     */
+    static boolean isLetterGlyph(char c) {
+        return typeOf(c) == TokenType.PUNCTUATION && ArabicCharClass.isStandardLetter(ArabicCanonicalizer.fold(c));
+    }
+
+    /**
+     * @return true if the char is an Arabic letter or one of the glyphs
+     *         tashfeer writes for one, or with {@code marks} tashkeel or
+     *         tatweel.
+     */
+    static boolean isArabic(char c, boolean marks) {
+        if (c < 0x80) {
+            return false;
+        }
+        char folded = ArabicCanonicalizer.fold(c);
+        return ArabicCharClass.isStandardLetter(folded) || marks && folded == ArabicCanonicalizer.DROP;
+    }
+
+    private static TokenType computeType(char c) {
+        if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+            return TokenType.WHITESPACE;
+        }
+        switch (Character.getType(c)) {
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return TokenType.PUNCTUATION;
+            default:
+                return TokenType.WORD;
+        }
+    }
+}
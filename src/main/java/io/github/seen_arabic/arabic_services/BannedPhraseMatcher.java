@@ -0,0 +1,286 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over the banned words and phrases of a dictionary.
+ *
+ * Text is scanned once, left to right, and every state change costs the same
+ * whatever the size of the dictionary. The text is scanned in the canonical
+ * form of {@link CanonicalText}, the one the words of the text are checked
+ * in, and entries are canonicalized the same way when the automaton is
+ * built. Characters are then folded the way {@link ArabicLightStemmer}
+ * normalizes words, and a run of whitespace matches a single space in a
+ * phrase. A match only counts if it starts and ends on word boundaries, so
+ * "قتل" is found in "قتلٌ" but not inside "مقتل".
+ */
+final class BannedPhraseMatcher {
+    private static final char SPACE = ' ';
+    /** Root transitions up to the end of the Arabic block are a table lookup. */
+    private static final int DENSE_ROOT_SIZE = ArabicCharClass.ARABIC_BLOCK_START + ArabicCharClass.ARABIC_BLOCK_SIZE;
+    private static final long[] NO_SPANS = new long[0];
+
+    private final Node root = new Node(0);
+    private final Node[] rootChildren = new Node[DENSE_ROOT_SIZE];
+    private final int maxLength;
+
+    BannedPhraseMatcher(Collection<String> entries) {
+        int longest = 0;
+        for (String entry : entries) {
+            String pattern = fold(entry);
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            Node node = root;
+            for (int i = 0; i < pattern.length(); i++) {
+                node = node.childOrCreate(pattern.charAt(i));
+            }
+            node.terminal = true;
+            longest = Math.max(longest, pattern.length());
+        }
+        this.maxLength = longest;
+        for (int i = 0; i < root.labels.length; i++) {
+            if (root.labels[i] < DENSE_ROOT_SIZE) {
+                rootChildren[root.labels[i]] = root.children[i];
+            }
+        }
+        linkFailures();
+    }
+
+    /**
+     * Finds the banned words and phrases in a text. At each word end only the
+     * longest match is kept, and matches inside a longer one are dropped.
+     *
+     * @return The spans, offsets in the text each packed as
+     *         {@code start << 32 | end} and sorted by start.
+     */
+    long[] findAll(CanonicalText text) {
+        if (maxLength == 0) {
+            return NO_SPANS;
+        }
+        long[] spans = NO_SPANS;
+        int count = 0;
+        // The token each of the last maxLength folded characters starts, or -1
+        int[] origins = new int[maxLength];
+        int folded = 0;
+        boolean afterSpace = true;
+        Node state = root;
+        for (int token = 0; token < text.size(); token++) {
+            boolean word = text.isWord(token);
+            int start = text.canonicalStart(token);
+            for (int i = start; i < text.canonicalEnd(token); i++) {
+                char c = text.canonicalAt(i);
+                // Only whitespace and punctuation still hold tashkeel
+                if (ArabicCharClass.has(c, ArabicCharClass.TASHKEEL | ArabicCharClass.TATWEEL)) {
+                    continue;
+                }
+                char f;
+                if (ArabicTokenizer.typeOf(c) == ArabicTokenizer.TokenType.WHITESPACE) {
+                    if (afterSpace) {
+                        continue;
+                    }
+                    f = SPACE;
+                    afterSpace = true;
+                } else {
+                    f = fold(c);
+                    afterSpace = false;
+                }
+                origins[folded % maxLength] = word && i == start ? token : -1;
+                folded++;
+                state = next(state, f);
+            }
+            if (word) {
+                int first = longestMatchStart(state, origins, folded);
+                if (first >= 0) {
+                    if (count == spans.length) {
+                        spans = Arrays.copyOf(spans, Math.max(8, count * 2));
+                    }
+                    spans[count++] = (long) text.start(first) << 32 | text.end(token);
+                }
+            }
+        }
+        if (count == 0) {
+            return NO_SPANS;
+        }
+        // Spans come out by end, a longer span can start before a shorter one
+        Arrays.sort(spans, 0, count);
+        return withoutNestedSpans(spans, count);
+    }
+
+    private static long[] withoutNestedSpans(long[] spans, int count) {
+        int kept = 0;
+        int coveredUntil = -1;
+        for (int i = 0; i < count; i++) {
+            int start = (int) (spans[i] >>> 32);
+            int end = (int) spans[i];
+            if (end <= coveredUntil) {
+                continue;
+            }
+            // Same start sorts by end, the shorter span kept before is nested
+            while (kept > 0 && (int) (spans[kept - 1] >>> 32) == start) {
+                kept--;
+            }
+            spans[kept++] = spans[i];
+            coveredUntil = end;
+        }
+        return Arrays.copyOf(spans, kept);
+    }
+
+    /**
+     * @return The token where the longest match that starts a word begins,
+     *         or -1 if there is none.
+     */
+    private int longestMatchStart(Node state, int[] origins, int folded) {
+        // Outputs are visited from the longest down
+        for (Node output = state.terminal ? state : state.output; output != null; output = output.output) {
+            int token = origins[(folded - output.depth) % maxLength];
+            if (token >= 0) {
+                return token;
+            }
+        }
+        return -1;
+    }
+
+    private Node next(Node state, char c) {
+        while (true) {
+            Node child = state == root ? rootChild(c) : state.child(c);
+            if (child != null) {
+                return child;
+            }
+            if (state == root) {
+                return root;
+            }
+            state = state.failure;
+        }
+    }
+
+    private Node rootChild(char c) {
+        return c < DENSE_ROOT_SIZE ? rootChildren[c] : root.child(c);
+    }
+
+    private void linkFailures() {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.children) {
+            child.failure = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            for (int i = 0; i < node.labels.length; i++) {
+                Node child = node.children[i];
+                child.failure = next(node.failure, node.labels[i]);
+                child.output = child.failure.terminal ? child.failure : child.failure.output;
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Folds a dictionary entry the way text characters are folded while
+     * scanning.
+     */
+    static String fold(String entry) {
+        CanonicalText text = new CanonicalText(entry);
+        StringBuilder pattern = new StringBuilder(entry.length());
+        boolean afterSpace = true;
+        for (int i = 0; i < text.canonicalLength(); i++) {
+            char c = text.canonicalAt(i);
+            if (ArabicCharClass.has(c, ArabicCharClass.TASHKEEL | ArabicCharClass.TATWEEL)) {
+                continue;
+            }
+            if (ArabicTokenizer.typeOf(c) == ArabicTokenizer.TokenType.WHITESPACE) {
+                if (!afterSpace) {
+                    pattern.append(SPACE);
+                    afterSpace = true;
+                }
+            } else {
+                pattern.append(fold(c));
+                afterSpace = false;
+            }
+        }
+        int end = pattern.length();
+        if (end > 0 && pattern.charAt(end - 1) == SPACE) {
+            pattern.setLength(end - 1);
+        }
+        return pattern.toString();
+    }
+
+    /**
+     * Folds a char of the canonical form, whose glyphs are already letters.
+     */
+    private static char fold(char c) {
+        return Levenshtein.fold(ArabicLightStemmer.normalizeLetter(c));
+    }
+
+    /**
+     * Answers, for words visited in text order, whether they lie inside one of
+     * the spans found by {@link #findAll(CanonicalText)}.
+     */
+    static final class Spans {
+        private final long[] spans;
+        private int next;
+        private int coveredUntil;
+
+        Spans(long[] spans) {
+            this.spans = spans;
+        }
+
+        /**
+         * Spans are word aligned, so a word is inside a span as soon as it
+         * overlaps one.
+         */
+        boolean covers(int start, int end) {
+            while (next < spans.length && (int) (spans[next] >>> 32) <= start) {
+                coveredUntil = Math.max(coveredUntil, (int) spans[next]);
+                next++;
+            }
+            return end <= coveredUntil;
+        }
+    }
+
+    /**
+     * A trie node, with children kept in parallel arrays sorted by label.
+     */
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final int depth;
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private boolean terminal;
+        private Node failure;
+        /** The longest shorter pattern that ends in this state. */
+        private Node output;
+
+        Node(int depth) {
+            this.depth = depth;
+        }
+
+        Node child(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            return position >= 0 ? children[position] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            if (position >= 0) {
+                return children[position];
+            }
+            position = -position - 1;
+            Node child = new Node(depth + 1);
+            char[] newLabels = Arrays.copyOf(labels, labels.length + 1);
+            Node[] newChildren = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(labels, position, newLabels, position + 1, labels.length - position);
+            System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+            newLabels[position] = label;
+            newChildren[position] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+    }
+}
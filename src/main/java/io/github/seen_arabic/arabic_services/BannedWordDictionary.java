@@ -0,0 +1,422 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable list of banned words, normalized and indexed when it is built.
+ *
+ * Dictionaries can be created from a collection or loaded from a file or
+ * stream, and installed at runtime with
+ * {@link ArabicServices#setBannedWordDictionary(BannedWordDictionary)}.
+ * Because a dictionary never changes after it is built, it can be shared
+ * freely between threads.
+ *
+ * Entries are expected to be word stems, the same way words are compared
+ * after {@link ArabicServices#removeArabicAffixes(String)} strips their
+ * affixes. Each entry is trimmed and stripped of tashkeel and tatweel, and
+ * blank or duplicate entries are dropped. Words are matched in the
+ * canonical form of {@link ArabicCanonicalizer}, on both sides, so lookalike
+ * glyphs, dotless letters and repeated letters do not get a banned word
+ * past the filter.
+ *
+ * The entries and their light stems, see {@link ArabicLightStemmer}, are kept
+ * in a hash set. A word that is an entry or shares its light stem is banned
+ * straight away, so morphological variants of a banned word are caught with
+ * a hash lookup and the edit distance search only runs for the words that
+ * miss.
+ *
+ * An entry can also be a phrase of several words, separated by whitespace
+ * or punctuation. Phrases are only found written out in full, see
+ * {@link #findAll(CharSequence)}, and every word of a phrase that is found
+ * gets tashfeer.
+ *
+ * Large dictionaries can be compiled once, with {@link #compile(Path)} or
+ * {@link BannedWordDictionaryCompiler}, and opened with {@link #open(Path)}.
+ * A compiled dictionary is memory mapped: its words live outside the heap,
+ * opening it does not rebuild any index, and JVMs on the same host that open
+ * the same file share one copy in the page cache.
+ */
+public final class BannedWordDictionary {
+    /** Shorter stems are shared by too many unrelated words to be indexed. */
+    private static final int MIN_INDEXED_STEM_LENGTH = 3;
+    private static final BannedWordDictionary DEFAULT = of(Data.BANNED_WORDS);
+
+    private final List<String> words;
+    private final BannedWordIndex index;
+    /** Normalized entries and their light stems. */
+    private final Set<String> stems;
+    private final int maxStemLength;
+    /** The entries the tokenizer splits into several tokens. */
+    private final List<String> phrases;
+    /** Matches the phrases, words are checked one at a time. */
+    private final BannedPhraseMatcher phraseMatcher;
+    /** Matches every entry, built on first use. */
+    private volatile BannedPhraseMatcher matcher;
+
+    private BannedWordDictionary(Collection<String> entries) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String entry : entries) {
+            Objects.requireNonNull(entry, Data.WORD_NULL_MESSAGE);
+            String word = normalize(entry);
+            if (!word.isEmpty()) {
+                normalized.add(word);
+            }
+        }
+        this.words = Collections.unmodifiableList(Arrays.asList(normalized.toArray(new String[0])));
+        this.phrases = phrases(words);
+        this.phraseMatcher = new BannedPhraseMatcher(phrases);
+        List<String> singleWords = canonicalSingleWords(words);
+        this.index = new BannedWordIndex(singleWords.toArray(new String[0]));
+        Set<String> stems = new HashSet<>();
+        int maxStem = 0;
+        for (String word : singleWords) {
+            String form = ArabicLightStemmer.normalize(word);
+            stems.add(form);
+            maxStem = Math.max(maxStem, form.length());
+            String stem = ArabicLightStemmer.stem(word);
+            if (stem.length() >= MIN_INDEXED_STEM_LENGTH) {
+                stems.add(stem);
+            }
+        }
+        this.stems = stems;
+        this.maxStemLength = maxStem;
+    }
+
+    private BannedWordDictionary(CompiledDictionary compiled) {
+        this.words = compiled.words;
+        this.index = compiled.index;
+        this.stems = compiled.stems;
+        this.maxStemLength = compiled.maxStemLength;
+        this.phrases = compiled.phrases;
+        this.phraseMatcher = new BannedPhraseMatcher(phrases);
+    }
+
+    /**
+     * The dictionary shipped with the library.
+     *
+     * @return The default dictionary {@link BannedWordDictionary}.
+     */
+    public static BannedWordDictionary defaultDictionary() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates a dictionary from the given words.
+     *
+     * @param words The banned words {@link String}.
+     * @return The dictionary {@link BannedWordDictionary}.
+     */
+    public static BannedWordDictionary of(String... words) {
+        Objects.requireNonNull(words, Data.WORDS_NULL_MESSAGE);
+        return new BannedWordDictionary(Arrays.asList(words));
+    }
+
+    /**
+     * Creates a dictionary from the given words.
+     *
+     * @param words The banned words {@link Collection}.
+     * @return The dictionary {@link BannedWordDictionary}.
+     */
+    public static BannedWordDictionary of(Collection<String> words) {
+        Objects.requireNonNull(words, Data.WORDS_NULL_MESSAGE);
+        return new BannedWordDictionary(words);
+    }
+
+    /**
+     * Loads a dictionary with one word per line. Blank lines and lines
+     * starting with {@code #} are ignored.
+     *
+     * @param reader The source of the dictionary {@link Reader}.
+     * @return The dictionary {@link BannedWordDictionary}.
+     * @throws IOException If reading fails.
+     */
+    public static BannedWordDictionary load(Reader reader) throws IOException {
+        Objects.requireNonNull(reader, Data.READER_NULL_MESSAGE);
+        Set<String> words = new LinkedHashSet<>();
+        BufferedReader lines = reader instanceof BufferedReader
+                ? (BufferedReader) reader
+                : new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (!line.trim().startsWith("#")) {
+                words.add(line);
+            }
+        }
+        return new BannedWordDictionary(words);
+    }
+
+    /**
+     * Loads a UTF-8 encoded dictionary, see {@link #load(Reader)}.
+     *
+     * @param input The source of the dictionary {@link InputStream}.
+     * @return The dictionary {@link BannedWordDictionary}.
+     * @throws IOException If reading fails.
+     */
+    public static BannedWordDictionary load(InputStream input) throws IOException {
+        Objects.requireNonNull(input, Data.READER_NULL_MESSAGE);
+        return load(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Loads a UTF-8 encoded dictionary file, see {@link #load(Reader)}.
+     *
+     * @param path The dictionary file {@link Path}.
+     * @return The dictionary {@link BannedWordDictionary}.
+     * @throws IOException If reading fails.
+     */
+    public static BannedWordDictionary load(Path path) throws IOException {
+        Objects.requireNonNull(path, Data.READER_NULL_MESSAGE);
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    /**
+     * Opens a dictionary compiled with {@link #compile(Path)}. The file is
+     * memory mapped and must not change while the dictionary is in use.
+     * Only {@link #findAll(CharSequence)} builds anything on the heap, an
+     * automaton over every entry, and only the first time it is called.
+     *
+     * @param path The compiled dictionary file {@link Path}.
+     * @return The dictionary {@link BannedWordDictionary}.
+     * @throws IOException If reading fails or the file is not a compiled
+     *                     dictionary.
+     */
+    public static BannedWordDictionary open(Path path) throws IOException {
+        Objects.requireNonNull(path, Data.READER_NULL_MESSAGE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new BannedWordDictionary(
+                    CompiledDictionary.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+        }
+    }
+
+    /**
+     * Writes the dictionary in the compiled form read by
+     * {@link #open(Path)}. The stream is not closed.
+     *
+     * @param output Receives the compiled dictionary {@link OutputStream}.
+     * @throws IOException If writing fails.
+     */
+    public void compile(OutputStream output) throws IOException {
+        Objects.requireNonNull(output, Data.WRITER_NULL_MESSAGE);
+        List<String> singleWords = new ArrayList<>(words.size());
+        for (String word : canonicalSingleWords(words)) {
+            singleWords.add(word.toLowerCase());
+        }
+        CompiledDictionary.write(output, words, singleWords, stems, maxStemLength, phrases);
+    }
+
+    /**
+     * Writes the dictionary to a file in the compiled form read by
+     * {@link #open(Path)}.
+     *
+     * @param path The compiled dictionary file {@link Path}.
+     * @throws IOException If writing fails.
+     */
+    public void compile(Path path) throws IOException {
+        Objects.requireNonNull(path, Data.WRITER_NULL_MESSAGE);
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(path))) {
+            compile(output);
+        }
+    }
+
+    /**
+     * Checks if a word has the light stem of a banned word, or is similar
+     * enough to one of the banned words after its affixes are removed.
+     *
+     * @param word The word to check {@link String}.
+     * @return true if the word is banned.
+     */
+    public boolean isBanned(String word) {
+        Objects.requireNonNull(word, Data.WORD_NULL_MESSAGE);
+        return isBannedCanonical(ArabicCanonicalizer.canonicalize(word.trim()), ArabicAffixStripper.defaultStripper(),
+                BannedWordIndex.DEFAULT_SIMILARITY_THRESHOLD, null);
+    }
+
+    /**
+     * Finds every banned word and phrase written exactly, up to tashkeel,
+     * tatweel, lookalike glyphs and the letter forms
+     * {@link ArabicLightStemmer} normalizes, in
+     * one pass over the text. Matches start and end on word boundaries, and
+     * matches inside a longer one are not reported.
+     *
+     * @param text The text to search {@link CharSequence}.
+     * @return The matches, sorted by where they start {@link List}.
+     */
+    public List<Span> findAll(CharSequence text) {
+        Objects.requireNonNull(text, Data.TEXT_NULL_MESSAGE);
+        long[] spans = matcher().findAll(new CanonicalText(text));
+        List<Span> matches = new ArrayList<>(spans.length);
+        for (long span : spans) {
+            matches.add(new Span((int) (span >>> 32), (int) span));
+        }
+        return matches;
+    }
+
+    /**
+     * The normalized banned words.
+     *
+     * @return An unmodifiable list of the words {@link List}.
+     */
+    public List<String> words() {
+        return words;
+    }
+
+    /**
+     * @return The number of banned words.
+     */
+    public int size() {
+        return words.size();
+    }
+
+    BannedPhraseMatcher.Spans phraseSpans(CanonicalText text) {
+        return new BannedPhraseMatcher.Spans(phraseMatcher.findAll(text));
+    }
+
+    /**
+     * Checks a word in the canonical form of {@link ArabicCanonicalizer},
+     * adding the number of banned words its stem was compared against to
+     * {@code counter} unless it is null.
+     */
+    boolean isBannedCanonical(String canonical, ArabicAffixStripper stripper, double threshold,
+            BannedWordIndex.Counter counter) {
+        // Compared like the entries, in canonical form, so only real letters
+        // count as edits and spellings meant to evade the filter count as none
+        String form = ArabicLightStemmer.normalize(canonical);
+        return stems.contains(form)
+                || stems.contains(ArabicLightStemmer.stem(form))
+                || index.matches(stripper.strip(canonical), threshold, counter);
+    }
+
+    /**
+     * @return The length of the longest word that can be banned, either by its
+     *         light stem or by its similarity to a banned word.
+     */
+    int maxBannedWordLength(ArabicAffixStripper stripper, double threshold) {
+        int bySimilarity = maxMatchableLength(threshold) + stripper.maxStrippedLength();
+        int byStem = maxStemLength == 0 ? 0 : maxStemLength + ArabicLightStemmer.MAX_STRIPPED_LENGTH;
+        return Math.max(bySimilarity, byStem);
+    }
+
+    boolean matches(CharSequence stem, double threshold) {
+        return index.matches(stem, threshold);
+    }
+
+    int maxMatchableLength(double threshold) {
+        return index.maxMatchableLength(threshold);
+    }
+
+    private BannedPhraseMatcher matcher() {
+        BannedPhraseMatcher result = matcher;
+        if (result == null) {
+            // Racing threads may each build one, any of them will do
+            result = new BannedPhraseMatcher(words);
+            matcher = result;
+        }
+        return result;
+    }
+
+    /**
+     * An entry is a phrase when the tokenizer splits it, by whitespace or by
+     * punctuation as in "ابو.جهل", so that it can only be found by
+     * {@link BannedPhraseMatcher} and never as a single word.
+     */
+    private static boolean isPhrase(String word) {
+        return new CanonicalText(word).size() > 1;
+    }
+
+    private static List<String> phrases(List<String> words) {
+        List<String> phrases = new ArrayList<>();
+        for (String word : words) {
+            if (isPhrase(word)) {
+                phrases.add(word);
+            }
+        }
+        return Collections.unmodifiableList(phrases);
+    }
+
+    /**
+     * The entries that are single words, in the canonical form of
+     * {@link ArabicCanonicalizer}, for the index and the stems.
+     */
+    private static List<String> canonicalSingleWords(List<String> words) {
+        Set<String> singleWords = new LinkedHashSet<>();
+        for (String word : words) {
+            if (!isPhrase(word)) {
+                singleWords.add(ArabicCanonicalizer.canonicalize(word));
+            }
+        }
+        return new ArrayList<>(singleWords);
+    }
+
+    private static String normalize(String word) {
+        return ArabicNormalizer.removeTatweel(ArabicNormalizer.removeTashkeel(word.trim()));
+    }
+
+    /**
+     * Where a banned word or phrase was found in a text.
+     */
+    public static final class Span {
+        private final int start;
+        private final int end;
+
+        Span(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * @return The offset of the first char of the match.
+         */
+        public int start() {
+            return start;
+        }
+
+        /**
+         * @return The offset after the last char of the match.
+         */
+        public int end() {
+            return end;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Span)) {
+                return false;
+            }
+            Span span = (Span) other;
+            return start == span.start && end == span.end;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * start + end;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + ")";
+        }
+    }
+}
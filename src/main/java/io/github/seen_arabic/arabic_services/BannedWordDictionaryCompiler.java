@@ -0,0 +1,80 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line tool that compiles banned word lists into the file read by
+ * {@link BannedWordDictionary#open(Path)}, meant to run as a build step.
+ *
+ * <pre>
+ * java -cp arabic-services.jar io.github.seen_arabic.arabic_services.BannedWordDictionaryCompiler \
+ *         banned-words.bwd words.txt dialects.txt
+ * </pre>
+ *
+ * The inputs are UTF-8 lists in the format of
+ * {@link BannedWordDictionary#load(Path)}, merged in the order given. Without
+ * any input the default dictionary is compiled.
+ */
+public final class BannedWordDictionaryCompiler {
+    private static final String USAGE = "Usage: BannedWordDictionaryCompiler <output> [<input>...]";
+
+    private BannedWordDictionaryCompiler() {
+    }
+
+    /**
+     * Compiles the banned word lists given on the command line.
+     *
+     * The process exits with 0 when the dictionary is written, 1 when an
+     * input cannot be read or the output cannot be written, and 2 when no
+     * output file is given.
+     *
+     * @param args The compiled dictionary file, followed by the banned word
+     *             lists to merge into it, the default dictionary if none is
+     *             given.
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            inputs.add(Paths.get(args[i]));
+        }
+        try {
+            BannedWordDictionary dictionary = compile(Paths.get(args[0]), inputs);
+            System.out.println("Compiled " + dictionary.size() + " banned words to " + args[0]);
+        } catch (IOException e) {
+            System.err.println("Failed to compile the dictionary: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Merges the banned word lists and writes them compiled to a file.
+     *
+     * @param output The compiled dictionary file {@link Path}.
+     * @param inputs The banned word lists, the default dictionary if empty
+     *               {@link List}.
+     * @return The compiled dictionary {@link BannedWordDictionary}.
+     * @throws IOException If reading or writing fails.
+     */
+    static BannedWordDictionary compile(Path output, List<Path> inputs) throws IOException {
+        BannedWordDictionary dictionary;
+        if (inputs.isEmpty()) {
+            dictionary = BannedWordDictionary.defaultDictionary();
+        } else {
+            List<String> words = new ArrayList<>();
+            for (Path input : inputs) {
+                words.addAll(BannedWordDictionary.load(input).words());
+            }
+            dictionary = BannedWordDictionary.of(words);
+        }
+        dictionary.compile(output);
+        return dictionary;
+    }
+}
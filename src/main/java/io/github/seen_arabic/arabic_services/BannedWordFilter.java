@@ -0,0 +1,111 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * A banned word dictionary together with the affix stripper that turns words
+ * into stems, the similarity threshold and an optional verdict cache.
+ *
+ * The filter is immutable and is replaced as a whole, so installing a new
+ * dictionary always starts with an empty cache and verdicts from an older
+ * dictionary are never served.
+ *
+ * Checks are reported to the metrics of the filter, and are not timed at all
+ * while those are disabled.
+ */
+final class BannedWordFilter {
+    private final BannedWordDictionary dictionary;
+    private final ArabicAffixStripper stripper;
+    private final double threshold;
+    private final int maxBannedWordLength;
+    private final VerdictCache cache;
+    private final ArabicMetrics metrics;
+
+    BannedWordFilter(BannedWordDictionary dictionary, int cacheSize) {
+        this(dictionary, ArabicAffixStripper.defaultStripper(), BannedWordIndex.DEFAULT_SIMILARITY_THRESHOLD,
+                cacheSize, ArabicMetrics.NOOP);
+    }
+
+    BannedWordFilter(BannedWordDictionary dictionary, ArabicAffixStripper stripper, double threshold,
+            int cacheSize, ArabicMetrics metrics) {
+        this.dictionary = dictionary;
+        this.stripper = stripper;
+        this.threshold = threshold;
+        this.metrics = metrics;
+        this.maxBannedWordLength = dictionary.maxBannedWordLength(stripper, threshold);
+        this.cache = cacheSize > 0 ? new VerdictCache(cacheSize) : null;
+    }
+
+    BannedWordDictionary dictionary() {
+        return dictionary;
+    }
+
+    int cacheSize() {
+        return cache == null ? 0 : cache.maximumSize();
+    }
+
+    CacheStats cacheStats() {
+        return cache == null ? CacheStats.EMPTY : cache.stats();
+    }
+
+    boolean isBanned(String word) {
+        return isBannedCanonical(ArabicCanonicalizer.canonicalize(word.trim()));
+    }
+
+    /**
+     * Checks a word of a text scanned with
+     * {@link #phraseSpans(CanonicalText)}, given in the canonical form the
+     * text holds; a word inside one of the spans is banned without a lookup.
+     */
+    boolean isBannedCanonical(String canonical, boolean inPhrase) {
+        if (!inPhrase) {
+            return isBannedCanonical(canonical);
+        }
+        if (metrics.isEnabled()) {
+            // The scan is timed as part of the operation over the whole text
+            metrics.recordBannedWordCheck(true, false, 0, 0);
+        }
+        return true;
+    }
+
+    /**
+     * Verdicts are cached by canonical form, so spellings of a word that
+     * only differ in glyphs or tashkeel share one entry.
+     */
+    private boolean isBannedCanonical(String canonical) {
+        if (metrics.isEnabled()) {
+            return isBannedMeasured(canonical);
+        }
+        if (cache == null) {
+            return dictionary.isBannedCanonical(canonical, stripper, threshold, null);
+        }
+        Boolean verdict = cache.get(canonical);
+        if (verdict == null) {
+            verdict = dictionary.isBannedCanonical(canonical, stripper, threshold, null);
+            cache.put(canonical, verdict);
+        }
+        return verdict;
+    }
+
+    private boolean isBannedMeasured(String canonical) {
+        metrics.bannedWordCheckStarted();
+        long start = System.nanoTime();
+        Boolean verdict = cache == null ? null : cache.get(canonical);
+        boolean cached = verdict != null;
+        BannedWordIndex.Counter counter = new BannedWordIndex.Counter();
+        if (!cached) {
+            verdict = dictionary.isBannedCanonical(canonical, stripper, threshold, counter);
+            if (cache != null) {
+                cache.put(canonical, verdict);
+            }
+        }
+        metrics.recordBannedWordCheck(verdict, cached, counter.comparisons, System.nanoTime() - start);
+        return verdict;
+    }
+
+    BannedPhraseMatcher.Spans phraseSpans(CanonicalText text) {
+        return dictionary.phraseSpans(text);
+    }
+
+    int maxBannedWordLength() {
+        return maxBannedWordLength;
+    }
+}
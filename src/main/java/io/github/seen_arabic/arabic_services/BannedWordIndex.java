@@ -0,0 +1,183 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Length-bucketed index over a list of banned words.
+ *
+ * A similarity threshold caps the edit distance two words may have, and the
+ * edit distance is never smaller than the difference of their lengths. So for
+ * a given input word only the buckets whose length is close enough can hold a
+ * match, and a bounded edit distance only runs against those candidates.
+ * Buckets are visited nearest length first and the lookup stops at the first
+ * match.
+ *
+ * The buckets are arrays of strings for dictionaries built in memory, and
+ * views of a mapped file for compiled ones, see {@link CompiledDictionary}.
+ */
+final class BannedWordIndex {
+    static final double DEFAULT_SIMILARITY_THRESHOLD = 70;
+
+    private final Buckets buckets;
+
+    BannedWordIndex(String[] bannedWords) {
+        List<List<String>> groups = new ArrayList<>();
+        for (String bannedWord : bannedWords) {
+            String word = bannedWord.toLowerCase();
+            while (groups.size() <= word.length()) {
+                groups.add(new ArrayList<>());
+            }
+            groups.get(word.length()).add(word);
+        }
+        String[][] wordsByLength = new String[groups.size()][];
+        for (int length = 0; length < groups.size(); length++) {
+            wordsByLength[length] = groups.get(length).toArray(new String[0]);
+        }
+        this.buckets = new HeapBuckets(wordsByLength);
+    }
+
+    BannedWordIndex(Buckets buckets) {
+        this.buckets = buckets;
+    }
+
+    /**
+     * Checks if the word is at least {@code threshold} percent similar to any
+     * banned word.
+     *
+     * @param word      The word to look up {@link CharSequence}.
+     * @param threshold The minimum similarity percentage (0 - 100).
+     * @return true if a banned word crosses the threshold.
+     */
+    boolean matches(CharSequence word, double threshold) {
+        return matches(word, threshold, null);
+    }
+
+    /**
+     * Same as {@link #matches(CharSequence, double)}, and adds the number of
+     * banned words compared to {@code counter} unless it is null.
+     */
+    boolean matches(CharSequence word, double threshold, Counter counter) {
+        int length = word.length();
+        for (int delta = 0; delta <= length || length + delta < buckets.bucketCount(); delta++) {
+            boolean longerViable = delta <= maxDistance(length + delta, threshold);
+            boolean shorterViable = delta > 0 && delta <= length && delta <= maxDistance(length, threshold);
+            if (!longerViable && !shorterViable) {
+                // Buckets further away in either direction can only need more edits
+                return false;
+            }
+            if (longerViable && matchesBucket(word, length + delta, threshold, counter)) {
+                return true;
+            }
+            if (shorterViable && matchesBucket(word, length - delta, threshold, counter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The length of the longest word that can still be similar enough to one
+     * of the banned words; anything longer never matches.
+     */
+    int maxMatchableLength(double threshold) {
+        int longest = buckets.bucketCount() - 1;
+        if (longest < 0) {
+            return 0;
+        }
+        if (threshold <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        int length = longest;
+        while (length + 1 - longest <= maxDistance(length + 1, threshold)) {
+            length++;
+        }
+        return length;
+    }
+
+    private boolean matchesBucket(CharSequence word, int bucketLength, double threshold, Counter counter) {
+        int budget = maxDistance(Math.max(word.length(), bucketLength), threshold);
+        int position = buckets.indexWithin(word, bucketLength, budget);
+        if (counter != null) {
+            counter.comparisons += position >= 0 ? position + 1 : buckets.bucketSize(bucketLength);
+        }
+        return position >= 0;
+    }
+
+    /**
+     * The largest edit distance that still keeps two words, the longer of
+     * which has {@code longerLength} characters, within the threshold.
+     */
+    static int maxDistance(int longerLength, double threshold) {
+        if (longerLength == 0) {
+            return 0;
+        }
+        int distance = longerLength;
+        while (distance >= 0
+                && (double) (longerLength - distance) / (double) longerLength * 100 < threshold) {
+            distance--;
+        }
+        return distance;
+    }
+
+    /**
+     * Banned words grouped by their length.
+     */
+    interface Buckets {
+        /**
+         * @return One more than the length of the longest word.
+         */
+        int bucketCount();
+
+        /**
+         * @return The number of words of the given length.
+         */
+        int bucketSize(int length);
+
+        /**
+         * @return The position among the words of the given length of the
+         *         first one at most {@code maxDistance} edits away from
+         *         {@code word}, or -1 if there is none.
+         */
+        int indexWithin(CharSequence word, int length, int maxDistance);
+    }
+
+    /**
+     * Counts the banned words that lookups compare against.
+     */
+    static final class Counter {
+        int comparisons;
+    }
+
+    private static final class HeapBuckets implements Buckets {
+        private final String[][] wordsByLength;
+
+        HeapBuckets(String[][] wordsByLength) {
+            this.wordsByLength = wordsByLength;
+        }
+
+        @Override
+        public int bucketCount() {
+            return wordsByLength.length;
+        }
+
+        @Override
+        public int bucketSize(int length) {
+            return length < wordsByLength.length ? wordsByLength[length].length : 0;
+        }
+
+        @Override
+        public int indexWithin(CharSequence word, int length, int maxDistance) {
+            if (length >= wordsByLength.length) {
+                return -1;
+            }
+            String[] bucket = wordsByLength[length];
+            for (int i = 0; i < bucket.length; i++) {
+                if (Levenshtein.boundedDistance(word, bucket[i], maxDistance) <= maxDistance) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * A snapshot of the counters of a cache.
+ *
+ * For example
+ * {@code ArabicServices.getBannedWordCacheStats().hitRate()} is the share of
+ * banned word checks that were answered from the cache.
+ */
+public final class CacheStats {
+    static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0);
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+
+    CacheStats(long hits, long misses, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    /**
+     * @return The number of lookups answered from the cache.
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of lookups that had to be computed.
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of entries dropped to stay within the maximum size.
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * @return The number of entries in the cache.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The share of lookups answered from the cache, from 0 to 1, or 0
+     *         if there were no lookups.
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size
+                + "}";
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.Arrays;
+
+/**
+ * A text split by {@link ArabicTokenizer}, with every word written in the
+ * canonical form of {@link ArabicCanonicalizer}. Whitespace and punctuation
+ * are kept as they are.
+ *
+ * The text is canonicalized once, in the same pass that tokenizes it, and
+ * both the phrase scan of {@link BannedPhraseMatcher} and the word checks of
+ * {@link BannedWordFilter} read the canonical form from here. Each token
+ * keeps its offsets in the text and in the canonical form.
+ */
+final class CanonicalText {
+    private final StringBuilder canonical;
+    /** The offsets of each token and, last, of the end. */
+    private int[] starts = new int[16];
+    private int[] canonicalStarts = new int[16];
+    private boolean[] words = new boolean[16];
+    private int size;
+
+    CanonicalText(CharSequence text) {
+        canonical = new StringBuilder(text.length());
+        ArabicTokenizer tokenizer = new ArabicTokenizer(text);
+        while (tokenizer.next()) {
+            if (size + 1 == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                canonicalStarts = Arrays.copyOf(canonicalStarts, size * 2);
+                words = Arrays.copyOf(words, size * 2);
+            }
+            starts[size] = tokenizer.start();
+            canonicalStarts[size] = canonical.length();
+            words[size] = tokenizer.isWord();
+            if (tokenizer.isWord()) {
+                ArabicCanonicalizer.canonicalize(text, tokenizer.start(), tokenizer.end(), canonical);
+            } else {
+                canonical.append(text, tokenizer.start(), tokenizer.end());
+            }
+            size++;
+        }
+        starts[size] = text.length();
+        canonicalStarts[size] = canonical.length();
+    }
+
+    /**
+     * @return The number of tokens.
+     */
+    int size() {
+        return size;
+    }
+
+    boolean isWord(int token) {
+        return words[token];
+    }
+
+    /**
+     * @return The offset of the token in the text.
+     */
+    int start(int token) {
+        return starts[token];
+    }
+
+    /**
+     * @return The offset after the token in the text.
+     */
+    int end(int token) {
+        return starts[token + 1];
+    }
+
+    /**
+     * @return The offset of the token in the canonical form.
+     */
+    int canonicalStart(int token) {
+        return canonicalStarts[token];
+    }
+
+    /**
+     * @return The offset after the token in the canonical form.
+     */
+    int canonicalEnd(int token) {
+        return canonicalStarts[token + 1];
+    }
+
+    /**
+     * @return The length of the canonical form.
+     */
+    int canonicalLength() {
+        return canonical.length();
+    }
+
+    /**
+     * @return The char at an offset of the canonical form.
+     */
+    char canonicalAt(int offset) {
+        return canonical.charAt(offset);
+    }
+
+    /**
+     * @return The canonical form of the token {@link String}
+     */
+    String canonical(int token) {
+        return canonical.substring(canonicalStarts[token], canonicalStarts[token + 1]);
+    }
+}
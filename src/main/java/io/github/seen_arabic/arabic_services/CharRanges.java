@@ -0,0 +1,78 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.function.IntPredicate;
+
+/**
+ * A set of chars kept as sorted, inclusive ranges, so that a scan can tell
+ * with a few comparisons whether a char is one an operation rewrites, see
+ * {@link FastScan}.
+ */
+final class CharRanges {
+    private final char[] lows;
+    private final char[] highs;
+
+    private CharRanges(char[] lows, char[] highs) {
+        this.lows = lows;
+        this.highs = highs;
+    }
+
+    /**
+     * @return The chars that match the predicate {@link CharRanges}
+     */
+    static CharRanges matching(IntPredicate predicate) {
+        StringBuilder lows = new StringBuilder();
+        StringBuilder highs = new StringBuilder();
+        int low = -1;
+        for (int c = 0; c <= Character.MAX_VALUE + 1; c++) {
+            boolean matches = c <= Character.MAX_VALUE && predicate.test(c);
+            if (matches && low < 0) {
+                low = c;
+            } else if (!matches && low >= 0) {
+                lows.append((char) low);
+                highs.append((char) (c - 1));
+                low = -1;
+            }
+        }
+        return new CharRanges(lows.toString().toCharArray(), highs.toString().toCharArray());
+    }
+
+    /**
+     * @return The number of ranges.
+     */
+    int size() {
+        return lows.length;
+    }
+
+    char low(int range) {
+        return lows[range];
+    }
+
+    char high(int range) {
+        return highs[range];
+    }
+
+    boolean contains(char c) {
+        if (lows.length == 0 || c < lows[0] || c > highs[highs.length - 1]) {
+            return false;
+        }
+        for (int range = 0; range < lows.length; range++) {
+            if (c <= highs[range]) {
+                return c >= lows[range];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The offset of the first char of {@code text} from {@code from}
+     *         that is in the set, or -1 if there is none.
+     */
+    int indexIn(String text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (contains(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
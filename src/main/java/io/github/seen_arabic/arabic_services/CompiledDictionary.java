@@ -0,0 +1,336 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.TreeSet;
+
+/**
+ * The binary form of a {@link BannedWordDictionary}, written by
+ * {@link BannedWordDictionary#compile(OutputStream)} and read back from a
+ * memory mapped file by {@link BannedWordDictionary#open(java.nio.file.Path)}.
+ *
+ * Everything a dictionary looks up at runtime is stored the way it is
+ * searched, so opening a file only reads a few headers and the words stay in
+ * the page cache, shared by every JVM that maps the same file. All numbers are
+ * big-endian and all text is UTF-16:
+ *
+ * <pre>
+ * int    magic, "SABW"
+ * int    version
+ * int    length of the longest entry or light stem in the stem table
+ * table  the single word entries, canonical and lower cased, for the
+ *        similarity search
+ * table  the canonical entries and their light stems
+ * list   the phrases
+ * list   every entry, in the order it was added
+ * </pre>
+ *
+ * A table groups words by length and sorts each group, see
+ * {@link WordTable}. A list is the number of words, the char offset where
+ * each word starts plus the end of the last one, then the chars.
+ */
+final class CompiledDictionary {
+    static final int MAGIC = 0x53414257;
+    /** 2 since entries are stored in canonical form. */
+    static final int VERSION = 2;
+    private static final String CORRUPT_MESSAGE = "Not a compiled banned word dictionary";
+
+    final List<String> words;
+    final BannedWordIndex index;
+    final WordTable stems;
+    final int maxStemLength;
+    final List<String> phrases;
+
+    private CompiledDictionary(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC) {
+            throw new IOException(CORRUPT_MESSAGE);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported compiled dictionary version " + version);
+        }
+        this.maxStemLength = buffer.getInt();
+        this.index = new BannedWordIndex(WordTable.read(buffer));
+        this.stems = WordTable.read(buffer);
+        this.phrases = WordList.read(buffer);
+        this.words = WordList.read(buffer);
+    }
+
+    /**
+     * Reads a compiled dictionary from the position of the buffer. The
+     * dictionary keeps views of the buffer, nothing is copied.
+     */
+    static CompiledDictionary read(ByteBuffer buffer) throws IOException {
+        try {
+            return new CompiledDictionary(buffer);
+        } catch (RuntimeException e) {
+            // Counts that point past the end of the buffer
+            throw new IOException(CORRUPT_MESSAGE, e);
+        }
+    }
+
+    static void write(OutputStream output, Collection<String> words, Collection<String> indexWords,
+            Collection<String> stems, int maxStemLength, Collection<String> phrases) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(maxStemLength);
+        WordTable.write(out, indexWords);
+        WordTable.write(out, stems);
+        WordList.write(out, phrases);
+        WordList.write(out, words);
+        out.flush();
+    }
+
+    // Buffer methods are called through Buffer: Java 9 overrides them in
+    // every subclass and classes compiled against those would not run on 8
+    private static void limit(Buffer buffer, int limit) {
+        buffer.limit(limit);
+    }
+
+    private static void position(Buffer buffer, int position) {
+        buffer.position(position);
+    }
+
+    private static CharBuffer chars(ByteBuffer buffer, int length) {
+        ByteBuffer slice = buffer.slice();
+        limit(slice, length * 2);
+        position(buffer, buffer.position() + length * 2);
+        return slice.asCharBuffer();
+    }
+
+    /**
+     * Words grouped by length, each group sorted. All words of a group have
+     * the same number of chars, so the i-th word of the group of length
+     * {@code n} starts {@code i * n} chars into the group and no offsets are
+     * stored. The table is the number of groups, the number of words in each,
+     * then the chars of every group from the shortest words up.
+     *
+     * Lookups compare views of the buffer and never copy a word to the heap.
+     */
+    static final class WordTable extends AbstractSet<String> implements BannedWordIndex.Buckets {
+        private final CharBuffer chars;
+        private final int[] counts;
+        private final int[] starts;
+        private final int size;
+
+        private WordTable(CharBuffer chars, int[] counts) {
+            this.chars = chars;
+            this.counts = counts;
+            this.starts = new int[counts.length];
+            int start = 0;
+            int total = 0;
+            for (int length = 0; length < counts.length; length++) {
+                starts[length] = start;
+                start += counts[length] * length;
+                total += counts[length];
+            }
+            this.size = total;
+        }
+
+        static WordTable read(ByteBuffer buffer) throws IOException {
+            int groups = buffer.getInt();
+            if (groups < 0 || groups > buffer.remaining() / 4) {
+                throw new IOException(CORRUPT_MESSAGE);
+            }
+            int[] counts = new int[groups];
+            long length = 0;
+            for (int i = 0; i < groups; i++) {
+                counts[i] = buffer.getInt();
+                if (counts[i] < 0) {
+                    throw new IOException(CORRUPT_MESSAGE);
+                }
+                length += (long) counts[i] * i;
+            }
+            if (length > buffer.remaining() / 2) {
+                throw new IOException(CORRUPT_MESSAGE);
+            }
+            return new WordTable(chars(buffer, (int) length), counts);
+        }
+
+        static void write(DataOutputStream out, Collection<String> words) throws IOException {
+            List<TreeSet<String>> groups = new ArrayList<>();
+            for (String word : words) {
+                while (groups.size() <= word.length()) {
+                    groups.add(new TreeSet<String>());
+                }
+                groups.get(word.length()).add(word);
+            }
+            out.writeInt(groups.size());
+            for (TreeSet<String> group : groups) {
+                out.writeInt(group.size());
+            }
+            for (TreeSet<String> group : groups) {
+                for (String word : group) {
+                    out.writeChars(word);
+                }
+            }
+        }
+
+        @Override
+        public int bucketCount() {
+            return counts.length;
+        }
+
+        @Override
+        public int bucketSize(int length) {
+            return length < counts.length ? counts[length] : 0;
+        }
+
+        @Override
+        public int indexWithin(CharSequence word, int length, int maxDistance) {
+            if (length >= counts.length) {
+                return -1;
+            }
+            CharBuffer view = chars.duplicate();
+            int start = starts[length];
+            for (int i = 0; i < counts[length]; i++, start += length) {
+                limit(view, start + length);
+                position(view, start);
+                if (Levenshtein.boundedDistance(word, view, maxDistance) <= maxDistance) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof CharSequence)) {
+                return false;
+            }
+            CharSequence word = (CharSequence) o;
+            int length = word.length();
+            if (length >= counts.length) {
+                return false;
+            }
+            int low = 0;
+            int high = counts[length] - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int order = compare(starts[length] + middle * length, word);
+                if (order < 0) {
+                    low = middle + 1;
+                } else if (order > 0) {
+                    high = middle - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int compare(int start, CharSequence word) {
+            for (int i = 0; i < word.length(); i++) {
+                int order = chars.get(start + i) - word.charAt(i);
+                if (order != 0) {
+                    return order;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int length;
+                private int next;
+                private int start;
+
+                @Override
+                public boolean hasNext() {
+                    while (length < counts.length && next == counts[length]) {
+                        length++;
+                        next = 0;
+                        start = length < counts.length ? starts[length] : 0;
+                    }
+                    return length < counts.length;
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    String word = chars.subSequence(start, start + length).toString();
+                    start += length;
+                    next++;
+                    return word;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Words of any length in a fixed order, decoded when they are read.
+     */
+    static final class WordList extends AbstractList<String> implements RandomAccess {
+        private final IntBuffer offsets;
+        private final CharBuffer chars;
+
+        private WordList(IntBuffer offsets, CharBuffer chars) {
+            this.offsets = offsets;
+            this.chars = chars;
+        }
+
+        static WordList read(ByteBuffer buffer) throws IOException {
+            int count = buffer.getInt();
+            if (count < 0 || count >= buffer.remaining() / 4) {
+                throw new IOException(CORRUPT_MESSAGE);
+            }
+            ByteBuffer slice = buffer.slice();
+            limit(slice, (count + 1) * 4);
+            IntBuffer offsets = slice.asIntBuffer();
+            position(buffer, buffer.position() + (count + 1) * 4);
+            int length = offsets.get(count);
+            if (length < 0 || length > buffer.remaining() / 2) {
+                throw new IOException(CORRUPT_MESSAGE);
+            }
+            return new WordList(offsets, chars(buffer, length));
+        }
+
+        static void write(DataOutputStream out, Collection<String> words) throws IOException {
+            out.writeInt(words.size());
+            int offset = 0;
+            for (String word : words) {
+                out.writeInt(offset);
+                offset += word.length();
+            }
+            out.writeInt(offset);
+            for (String word : words) {
+                out.writeChars(word);
+            }
+        }
+
+        @Override
+        public String get(int i) {
+            if (i < 0 || i >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size());
+            }
+            return chars.subSequence(offsets.get(i), offsets.get(i + 1)).toString();
+        }
+
+        @Override
+        public int size() {
+            return offsets.capacity() - 1;
+        }
+    }
+}
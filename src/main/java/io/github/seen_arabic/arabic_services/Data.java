@@ -1,9 +1,7 @@
 package io.github.seen_arabic.arabic_services;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 class Data {
     static final String NOON = "ن";
@@ -26,10 +24,31 @@ class Data {
     public static final List<String> ARABIC_SUFFIXES = Arrays.asList("ة", "ه", "ي", "ى", "ية", "ين", "ون", "هم");
 
     static final String TEXT_NULL_MESSAGE = "text must be not null";
+    static final String WORD_NULL_MESSAGE = "word must be not null";
+    static final String WORDS_NULL_MESSAGE = "words must be not null";
+    static final String READER_NULL_MESSAGE = "source must be not null";
+    static final String WRITER_NULL_MESSAGE = "destination must be not null";
+    static final String DICTIONARY_NULL_MESSAGE = "dictionary must be not null";
+    static final String TEXTS_NULL_MESSAGE = "texts must be not null";
+    static final String TRANSFORM_NULL_MESSAGE = "transform must be not null";
+    static final String POOL_NULL_MESSAGE = "pool must be not null";
+    static final String AFFIX_STRIPPER_NULL_MESSAGE = "affixStripper must be not null";
+    static final String RANDOM_SOURCE_NULL_MESSAGE = "randomSource must be not null";
+    static final String PROCESSOR_NULL_MESSAGE = "processor must be not null";
+    static final String METRICS_NULL_MESSAGE = "metrics must be not null";
+    static final String OPERATION_NULL_MESSAGE = "operation must be not null";
+    static final String KEY_NULL_MESSAGE = "key must be not null";
 
-    static final Map<String, String> LETTERS_DICT;
-    static final Map<Character, String[]> LETTERS_TASHFEER_REPLACEMENT_DICT;
-    static final Map<String, String> PRONOUNCED_LETTERS;
+    /** Marks a letter that has no old Arabic form and is kept as it is. */
+    static final char NO_OLD_LETTER = '\u0000';
+    /** Marks a letter that is dropped from old Arabic text. */
+    static final char REMOVED_LETTER = '\uFFFF';
+
+    // Dense tables indexed by c - U+0600, so lookups need no boxing and no
+    // one-character strings
+    private static final char[] OLD_LETTERS = new char[ArabicCharClass.ARABIC_BLOCK_SIZE];
+    private static final char[][] TASHFEER_REPLACEMENTS = new char[ArabicCharClass.ARABIC_BLOCK_SIZE][];
+    private static final String[] PRONOUNCED_LETTERS = new String[ArabicCharClass.ARABIC_BLOCK_SIZE];
 
     static final String[] TASHKEEL = {
             "\u0600",
@@ -187,120 +206,162 @@ class Data {
             "كر"
     };
     static {
-        LETTERS_DICT = new HashMap<>();
-        LETTERS_DICT.put("ا", "ا");
-        LETTERS_DICT.put("أ", "ا");
-        LETTERS_DICT.put("إ", "ا");
-        LETTERS_DICT.put("آ", "ا");
-        LETTERS_DICT.put("ٱ", "ا");
-        LETTERS_DICT.put("ء", "");
-        LETTERS_DICT.put("ب", "ٮ");
-        LETTERS_DICT.put("پ", "ٮ");
-        LETTERS_DICT.put("ت", "ٮ");
-        LETTERS_DICT.put("ث", "ٮ");
-        LETTERS_DICT.put("ج", "ح");
-        LETTERS_DICT.put("چ", "ح");
-        LETTERS_DICT.put("خ", "ح");
-        LETTERS_DICT.put("ح", "ح");
-        LETTERS_DICT.put("د", "د");
-        LETTERS_DICT.put("ذ", "د");
-        LETTERS_DICT.put("ر", "ر");
-        LETTERS_DICT.put("ز", "ر");
-        LETTERS_DICT.put("ژ", "ر");
-        LETTERS_DICT.put("س", "س");
-        LETTERS_DICT.put("ش", "س");
-        LETTERS_DICT.put("ص", "ص");
-        LETTERS_DICT.put("ض", "ص");
-        LETTERS_DICT.put("ط", "ط");
-        LETTERS_DICT.put("ظ", "ط");
-        LETTERS_DICT.put("ع", "ع");
-        LETTERS_DICT.put("غ", "ع");
-        LETTERS_DICT.put("ف", "ڡ");
-        LETTERS_DICT.put("ڤ", "ڡ");
-        LETTERS_DICT.put("ق", "ٯ");
-        LETTERS_DICT.put("ك", "ک");
-        LETTERS_DICT.put("گ", "ک");
-        LETTERS_DICT.put("ل", "ل");
-        LETTERS_DICT.put("م", "م");
-        LETTERS_DICT.put("ن", "ں");
-        LETTERS_DICT.put("ه", "ه");
-        LETTERS_DICT.put("و", "و");
-        LETTERS_DICT.put("ؤ", "و");
-        LETTERS_DICT.put("ة", "ه");
-        LETTERS_DICT.put("ى", "ى");
-        LETTERS_DICT.put("ي", "ى");
-        LETTERS_DICT.put("ئ", "ى");
+        putOldLetter('ا', 'ا');
+        putOldLetter('أ', 'ا');
+        putOldLetter('إ', 'ا');
+        putOldLetter('آ', 'ا');
+        putOldLetter('ٱ', 'ا');
+        putOldLetter('ء', REMOVED_LETTER);
+        putOldLetter('ب', 'ٮ');
+        putOldLetter('پ', 'ٮ');
+        putOldLetter('ت', 'ٮ');
+        putOldLetter('ث', 'ٮ');
+        putOldLetter('ج', 'ح');
+        putOldLetter('چ', 'ح');
+        putOldLetter('خ', 'ح');
+        putOldLetter('ح', 'ح');
+        putOldLetter('د', 'د');
+        putOldLetter('ذ', 'د');
+        putOldLetter('ر', 'ر');
+        putOldLetter('ز', 'ر');
+        putOldLetter('ژ', 'ر');
+        putOldLetter('س', 'س');
+        putOldLetter('ش', 'س');
+        putOldLetter('ص', 'ص');
+        putOldLetter('ض', 'ص');
+        putOldLetter('ط', 'ط');
+        putOldLetter('ظ', 'ط');
+        putOldLetter('ع', 'ع');
+        putOldLetter('غ', 'ع');
+        putOldLetter('ف', 'ڡ');
+        putOldLetter('ڤ', 'ڡ');
+        putOldLetter('ق', 'ٯ');
+        putOldLetter('ك', 'ک');
+        putOldLetter('گ', 'ک');
+        putOldLetter('ل', 'ل');
+        putOldLetter('م', 'م');
+        putOldLetter('ن', 'ں');
+        putOldLetter('ه', 'ه');
+        putOldLetter('و', 'و');
+        putOldLetter('ؤ', 'و');
+        putOldLetter('ة', 'ه');
+        putOldLetter('ى', 'ى');
+        putOldLetter('ي', 'ى');
+        putOldLetter('ئ', 'ى');
 
-        LETTERS_TASHFEER_REPLACEMENT_DICT = new HashMap<>();
 
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ا', new String[] { "|", "1", "!", "ן", "ן", "ו", "ⴶ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ب', new String[] { "ٮ", "ٻ", "پ", "ڀ", "ٹ", "ޞ", "ސ", "ݐ", "ݒ", "ݕ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ت', new String[] { "ٮ", "ٹ", "ٺ", "ټ", "ٽ", "ٿ", "ސ", "ڌ", "ݓ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ث', new String[] { "ٮ", "ٹ", "ٽ", "ٿ", "ޝ", "ސ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ح', new String[] { "ح", "7" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ج', new String[] { "ڃ", "ڄ", "چ", "ڇ", "ݘ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('خ', new String[] { "ح", "ځ", "ݗ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('د', new String[] { "ڈ", "ډ", "ڊ", "ڍ", "ݙ", "ݚ", "ב", "כ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ذ', new String[] { "ڈ", "ڏ", "ۮ", "נ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ر', new String[] { "ړ", "ڕ", "ږ", "ݛ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ز', new String[] { "ڑ", "ڙ", "ر", "ژ", "ږ", "ۯ", "ݫ", "ݬ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('س', new String[] { "ނ", "ښ", "ݜ", "ݭ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ش', new String[] { "ښ", "ݜ", "ݭ", "שׂ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ص', new String[] { "صـު" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ض', new String[] { "ص", "ض" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ط', new String[] { "ط" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ظ', new String[] { "ط", "ظ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ع', new String[] { "ݟ", "ݝ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('غ', new String[] { "ڠ", "ݝ", "ݞ", "ݟ", "ع" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ف', new String[] { "ڡ", "ڤ", "ڦ", "ڨ", "ݠ", "ݡ", "ڡْ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ق', new String[] { "ٯ", "ڨ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ك', new String[] { "ڬ", "ڭ", "ک", "ڪ", "ګ", "گ", "ڱ", "ڳ", "ݤ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ل', new String[] { "ڵ", "ݪ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('م', new String[] { "ݥ", "ݦ", "ޘ", "ތ", "ס", "ם" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ن', new String[] { "ں", "ڻ", "ڼ", "ڽ", "ݔ", "ݖ", "ݧ", "ݨ", "ݩ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ه', new String[] { "ۀ", "ہ", "ۂ", "ۃ", "ۿ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('و', new String[] { "ۅ", "ۆ", "ۇ", "ۈ", "ۏ", "ۉ", "ۋ" });
-        LETTERS_TASHFEER_REPLACEMENT_DICT.put('ي', new String[] { "ۍ", "ێ", "ې", "ے", "ی۪" });
+        putTashfeerReplacements('ا', "|", "1", "!", "ן", "ן", "ו", "ⴶ");
+        putTashfeerReplacements('ب', "ٮ", "ٻ", "پ", "ڀ", "ٹ", "ޞ", "ސ", "ݐ", "ݒ", "ݕ");
+        putTashfeerReplacements('ت', "ٮ", "ٹ", "ٺ", "ټ", "ٽ", "ٿ", "ސ", "ڌ", "ݓ");
+        putTashfeerReplacements('ث', "ٮ", "ٹ", "ٽ", "ٿ", "ޝ", "ސ");
+        putTashfeerReplacements('ح', "ح", "7");
+        putTashfeerReplacements('ج', "ڃ", "ڄ", "چ", "ڇ", "ݘ");
+        putTashfeerReplacements('خ', "ح", "ځ", "ݗ");
+        putTashfeerReplacements('د', "ڈ", "ډ", "ڊ", "ڍ", "ݙ", "ݚ", "ב", "כ");
+        putTashfeerReplacements('ذ', "ڈ", "ڏ", "ۮ", "נ");
+        putTashfeerReplacements('ر', "ړ", "ڕ", "ږ", "ݛ");
+        putTashfeerReplacements('ز', "ڑ", "ڙ", "ر", "ژ", "ږ", "ۯ", "ݫ", "ݬ");
+        putTashfeerReplacements('س', "ނ", "ښ", "ݜ", "ݭ");
+        putTashfeerReplacements('ش', "ښ", "ݜ", "ݭ", "שׂ");
+        putTashfeerReplacements('ص', "صـު");
+        putTashfeerReplacements('ض', "ص", "ض");
+        putTashfeerReplacements('ط', "ط");
+        putTashfeerReplacements('ظ', "ط", "ظ");
+        putTashfeerReplacements('ع', "ݟ", "ݝ");
+        putTashfeerReplacements('غ', "ڠ", "ݝ", "ݞ", "ݟ", "ع");
+        putTashfeerReplacements('ف', "ڡ", "ڤ", "ڦ", "ڨ", "ݠ", "ݡ", "ڡْ");
+        putTashfeerReplacements('ق', "ٯ", "ڨ");
+        putTashfeerReplacements('ك', "ڬ", "ڭ", "ک", "ڪ", "ګ", "گ", "ڱ", "ڳ", "ݤ");
+        putTashfeerReplacements('ل', "ڵ", "ݪ");
+        putTashfeerReplacements('م', "ݥ", "ݦ", "ޘ", "ތ", "ס", "ם");
+        putTashfeerReplacements('ن', "ں", "ڻ", "ڼ", "ڽ", "ݔ", "ݖ", "ݧ", "ݨ", "ݩ");
+        putTashfeerReplacements('ه', "ۀ", "ہ", "ۂ", "ۃ", "ۿ");
+        putTashfeerReplacements('و', "ۅ", "ۆ", "ۇ", "ۈ", "ۏ", "ۉ", "ۋ");
+        putTashfeerReplacements('ي', "ۍ", "ێ", "ې", "ے", "ی۪");
 
-        PRONOUNCED_LETTERS = new HashMap<>();
-        PRONOUNCED_LETTERS.put("ا", "ألف");
-        PRONOUNCED_LETTERS.put("إ", "ألف_مكسورة");
-        PRONOUNCED_LETTERS.put("أ", "ألف");
-        PRONOUNCED_LETTERS.put("آ", "ألف_مد");
-        PRONOUNCED_LETTERS.put("ء", "همزة"); // Not in STANDARD_LETTERS[]
-        PRONOUNCED_LETTERS.put("ب", "باء");
-        PRONOUNCED_LETTERS.put("ت", "تاء");
-        PRONOUNCED_LETTERS.put("ث", "ثاء");
-        PRONOUNCED_LETTERS.put("ج", "جيم");
-        PRONOUNCED_LETTERS.put("ح", "حاء");
-        PRONOUNCED_LETTERS.put("خ", "خاء");
-        PRONOUNCED_LETTERS.put("د", "دال");
-        PRONOUNCED_LETTERS.put("ذ", "ذال");
-        PRONOUNCED_LETTERS.put("ر", "راء");
-        PRONOUNCED_LETTERS.put("ز", "زاي");
-        PRONOUNCED_LETTERS.put("س", "سين");
-        PRONOUNCED_LETTERS.put("ش", "شين");
-        PRONOUNCED_LETTERS.put("ص", "صاد");
-        PRONOUNCED_LETTERS.put("ض", "ضاد");
-        PRONOUNCED_LETTERS.put("ط", "طاء");
-        PRONOUNCED_LETTERS.put("ظ", "ظاء");
-        PRONOUNCED_LETTERS.put("ع", "عين");
-        PRONOUNCED_LETTERS.put("غ", "غين");
-        PRONOUNCED_LETTERS.put("ف", "فاء");
-        PRONOUNCED_LETTERS.put("ق", "قاف");
-        PRONOUNCED_LETTERS.put("ك", "كاف");
-        PRONOUNCED_LETTERS.put("ل", "لام");
-        PRONOUNCED_LETTERS.put("م", "ميم");
-        PRONOUNCED_LETTERS.put("ن", "نون");
-        PRONOUNCED_LETTERS.put("ه", "هاء");
-        PRONOUNCED_LETTERS.put("و", "واو");
-        PRONOUNCED_LETTERS.put("ؤ", "همزة_متوسطة_مضمومة");
-        PRONOUNCED_LETTERS.put("ى", "ألف_لينة");
-        PRONOUNCED_LETTERS.put("ي", "ياء");
-        PRONOUNCED_LETTERS.put("ئ", "همزة_متوسطة_مكسورة");
-        PRONOUNCED_LETTERS.put("ة", "تاء_مربوطة"); // Not in STANDARD_LETTERS[]
+        putPronouncedLetter('ا', "ألف");
+        putPronouncedLetter('إ', "ألف_مكسورة");
+        putPronouncedLetter('أ', "ألف");
+        putPronouncedLetter('آ', "ألف_مد");
+        putPronouncedLetter('ء', "همزة"); // Not in STANDARD_LETTERS[]
+        putPronouncedLetter('ب', "باء");
+        putPronouncedLetter('ت', "تاء");
+        putPronouncedLetter('ث', "ثاء");
+        putPronouncedLetter('ج', "جيم");
+        putPronouncedLetter('ح', "حاء");
+        putPronouncedLetter('خ', "خاء");
+        putPronouncedLetter('د', "دال");
+        putPronouncedLetter('ذ', "ذال");
+        putPronouncedLetter('ر', "راء");
+        putPronouncedLetter('ز', "زاي");
+        putPronouncedLetter('س', "سين");
+        putPronouncedLetter('ش', "شين");
+        putPronouncedLetter('ص', "صاد");
+        putPronouncedLetter('ض', "ضاد");
+        putPronouncedLetter('ط', "طاء");
+        putPronouncedLetter('ظ', "ظاء");
+        putPronouncedLetter('ع', "عين");
+        putPronouncedLetter('غ', "غين");
+        putPronouncedLetter('ف', "فاء");
+        putPronouncedLetter('ق', "قاف");
+        putPronouncedLetter('ك', "كاف");
+        putPronouncedLetter('ل', "لام");
+        putPronouncedLetter('م', "ميم");
+        putPronouncedLetter('ن', "نون");
+        putPronouncedLetter('ه', "هاء");
+        putPronouncedLetter('و', "واو");
+        putPronouncedLetter('ؤ', "همزة_متوسطة_مضمومة");
+        putPronouncedLetter('ى', "ألف_لينة");
+        putPronouncedLetter('ي', "ياء");
+        putPronouncedLetter('ئ', "همزة_متوسطة_مكسورة");
+        putPronouncedLetter('ة', "تاء_مربوطة"); // Not in STANDARD_LETTERS[]
     }
 
     private Data() {
     }
+
+    /**
+     * @return The old Arabic form of a letter, {@link #NO_OLD_LETTER} or
+     *         {@link #REMOVED_LETTER}.
+     */
+    static char oldLetter(char c) {
+        int index = c - ArabicCharClass.ARABIC_BLOCK_START;
+        return index >= 0 && index < OLD_LETTERS.length ? OLD_LETTERS[index] : NO_OLD_LETTER;
+    }
+
+    /**
+     * @return The letters tashfeer can write instead of a letter, or null.
+     */
+    static char[] tashfeerReplacements(char c) {
+        int index = c - ArabicCharClass.ARABIC_BLOCK_START;
+        return index >= 0 && index < TASHFEER_REPLACEMENTS.length ? TASHFEER_REPLACEMENTS[index] : null;
+    }
+
+    /**
+     * @return The name of a letter, or null if it has none.
+     */
+    static String pronouncedLetter(char c) {
+        int index = c - ArabicCharClass.ARABIC_BLOCK_START;
+        return index >= 0 && index < PRONOUNCED_LETTERS.length ? PRONOUNCED_LETTERS[index] : null;
+    }
+
+    private static void putOldLetter(char letter, char oldLetter) {
+        OLD_LETTERS[letter - ArabicCharClass.ARABIC_BLOCK_START] = oldLetter;
+    }
+
+    /**
+     * Only the first char of each replacement is written by tashfeer, the
+     * rest of the longer replacements is kept here for reference.
+     */
+    private static void putTashfeerReplacements(char letter, String... replacements) {
+        char[] chars = new char[replacements.length];
+        for (int i = 0; i < replacements.length; i++) {
+            chars[i] = replacements[i].charAt(0);
+        }
+        TASHFEER_REPLACEMENTS[letter - ArabicCharClass.ARABIC_BLOCK_START] = chars;
+    }
+
+    private static void putPronouncedLetter(char letter, String name) {
+        PRONOUNCED_LETTERS[letter - ArabicCharClass.ARABIC_BLOCK_START] = name;
+    }
 }
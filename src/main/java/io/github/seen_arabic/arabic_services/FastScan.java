@@ -0,0 +1,35 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * Finds the first char an operation would rewrite, so that text with nothing
+ * to rewrite, Latin, digits or Arabic without tashkeel, is returned as the
+ * same instance without being copied.
+ *
+ * This is the scalar scan for Java 8. On Java 17 and later the multi-release
+ * jar replaces this class with one that compares a whole vector of chars at a
+ * time with the incubating Vector API, when the application is started with
+ * {@code --add-modules jdk.incubator.vector}, and falls back to this scan
+ * otherwise.
+ */
+final class FastScan {
+    private FastScan() {
+    }
+
+    /**
+     * @param text   The text to scan {@link String}
+     * @param from   The offset to start from.
+     * @param ranges The chars to look for {@link CharRanges}
+     * @return The offset of the first char in {@code ranges}, or -1 if there
+     *         is none.
+     */
+    static int indexOfAny(String text, int from, CharRanges ranges) {
+        return ranges.indexIn(text, from);
+    }
+
+    /**
+     * @return true if scans compare several chars at a time.
+     */
+    static boolean isVectorized() {
+        return false;
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * Splits text into letters the way a reader sees them: a base character,
+ * which may be a surrogate pair, followed by the characters that attach to
+ * it.
+ *
+ * Attaching characters are combining marks, tashkeel included, the zero
+ * width joiner and non-joiner, and tatweel, which only stretches the letter
+ * before it. They are looked up in a bit table built once from the Unicode
+ * categories, so finding a boundary never goes through
+ * {@link java.text.BreakIterator}.
+ */
+final class Graphemes {
+    private static final char ZERO_WIDTH_NON_JOINER = '\u200C';
+    private static final char ZERO_WIDTH_JOINER = '\u200D';
+    private static final long[] EXTENDERS = new long[(Character.MAX_VALUE + 1) >>> 6];
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (isMark(c) || ArabicCharClass.isTashkeel((char) c)) {
+                EXTENDERS[c >>> 6] |= 1L << c;
+            }
+        }
+        for (char c : new char[] { ZERO_WIDTH_NON_JOINER, ZERO_WIDTH_JOINER, ArabicNormalizer.TATWEEL }) {
+            EXTENDERS[c >>> 6] |= 1L << c;
+        }
+    }
+
+    private Graphemes() {
+    }
+
+    /**
+     * @return true if the character attaches to the letter before it.
+     */
+    static boolean isExtender(char c) {
+        return (EXTENDERS[c >>> 6] & (1L << c)) != 0;
+    }
+
+    /**
+     * Returns the end of the letter that starts at {@code index}.
+     */
+    static int next(CharSequence text, int index) {
+        int length = text.length();
+        int i = index + 1;
+        if (i < length && Character.isHighSurrogate(text.charAt(index)) && Character.isLowSurrogate(text.charAt(i))) {
+            i++;
+        }
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isExtender(c)) {
+                i++;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && isMark(Character.toCodePoint(c, text.charAt(i + 1)))) {
+                // Supplementary marks are rare enough to skip the table
+                i += 2;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Counts the letters of a text.
+     */
+    static int count(CharSequence text) {
+        int count = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i = next(text, i)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the base character of the letter that ends just before
+     * {@code index}, or 0 at the start of the text.
+     */
+    static char previousBase(CharSequence text, int index) {
+        int i = index - 1;
+        while (i > 0 && isExtender(text.charAt(i))) {
+            i--;
+        }
+        return i >= 0 ? text.charAt(i) : 0;
+    }
+
+    private static boolean isMark(int codePoint) {
+        switch (Character.getType(codePoint)) {
+            case Character.NON_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
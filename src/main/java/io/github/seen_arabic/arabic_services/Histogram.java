@@ -0,0 +1,130 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative long values, such as latencies in
+ * nanoseconds.
+ *
+ * Like HdrHistogram, values are counted in buckets that are linear within
+ * each power of two: values below 64 get a bucket each, and larger values
+ * share a bucket with others that differ by less than 1 part in 32. So
+ * percentiles are exact for small values and within about 3% for large ones,
+ * and the whole range of long fits in under 2000 buckets. Recording is a
+ * couple of atomic adds and never allocates.
+ */
+public final class Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** Values below this have a bucket each. */
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value; negative values are recorded as 0.
+     *
+     * @param value The value to record.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(v));
+        count.increment();
+        sum.add(v);
+        long current = max.get();
+        while (v > current && !max.compareAndSet(current, v)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * @return The number of recorded values.
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return The sum of the recorded values.
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return The mean of the recorded values, 0 if there are none.
+     */
+    public double mean() {
+        long n = count();
+        return n == 0 ? 0 : (double) sum() / n;
+    }
+
+    /**
+     * @return The largest recorded value, 0 if there are none.
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns the value below or at which the given percentage of the recorded
+     * values fall, rounded up to the end of its bucket.
+     *
+     * @param percentile The percentage, from 0 to 100.
+     * @return The value at the percentile, 0 if nothing was recorded.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max());
+            }
+        }
+        return max();
+    }
+
+    @Override
+    public String toString() {
+        return "Histogram[count=" + count() + ", mean=" + mean() + ", p50=" + valueAtPercentile(50)
+                + ", p99=" + valueAtPercentile(99) + ", max=" + max() + "]";
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long lowest = (long) (SUB_BUCKETS + (bucket - LINEAR_LIMIT) % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
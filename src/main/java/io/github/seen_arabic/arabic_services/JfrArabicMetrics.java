@@ -0,0 +1,55 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * {@link ArabicMetrics} that emits Java Flight Recorder events, so production
+ * services can be profiled with a recording and no agent:
+ *
+ * <pre>
+ * jcmd &lt;pid&gt; JFR.start name=arabic settings=profile
+ * </pre>
+ *
+ * Each operation is an {@code io.github.seen_arabic.Operation} event and each
+ * banned word check an {@code io.github.seen_arabic.BannedWordCheck} event,
+ * both under the "Arabic Services" category, timed from the start to the end
+ * of the call like any other event. An event costs next to nothing
+ * while no recording has it enabled. The events are Java 11 classes of the
+ * multi-release jar, so this needs Java 11 or later.
+ */
+public final class JfrArabicMetrics implements ArabicMetrics {
+    private static final String EVENTS = "io.github.seen_arabic.arabic_services.JfrEvents";
+
+    private final ArabicMetrics events;
+
+    /**
+     * Creates metrics that emit Flight Recorder events.
+     *
+     * @throws UnsupportedOperationException If the JVM is older than Java 11.
+     */
+    public JfrArabicMetrics() {
+        try {
+            events = (ArabicMetrics) Class.forName(EVENTS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new UnsupportedOperationException("Flight Recorder events need Java 11 or later", e);
+        }
+    }
+
+    @Override
+    public void operationStarted(Operation operation) {
+        events.operationStarted(operation);
+    }
+
+    @Override
+    public void recordOperation(Operation operation, int inputLength, long nanos) {
+        events.recordOperation(operation, inputLength, nanos);
+    }
+
+    @Override
+    public void bannedWordCheckStarted() {
+        events.bannedWordCheckStarted();
+    }
+
+    @Override
+    public void recordBannedWordCheck(boolean banned, boolean cached, int comparisons, long nanos) {
+        events.recordBannedWordCheck(banned, cached, comparisons, nanos);
+    }
+}
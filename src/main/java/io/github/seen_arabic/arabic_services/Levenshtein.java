@@ -0,0 +1,100 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * Threshold-aware Levenshtein distance.
+ *
+ * Only the diagonal band of width {@code 2 * maxDistance + 1} is computed
+ * (Ukkonen's cut-off), the computation stops as soon as a whole row exceeds
+ * the budget, and the DP rows live in per-thread scratch buffers so a call
+ * does not allocate. Characters are compared case-insensitively; Arabic
+ * letters have no case and skip the folding.
+ */
+final class Levenshtein {
+    private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(() -> new int[64]);
+
+    private Levenshtein() {
+    }
+
+    /**
+     * Computes the edit distance between two character sequences, giving up
+     * once it is known to exceed {@code maxDistance}.
+     *
+     * @param s1          The first sequence {@link CharSequence}.
+     * @param s2          The second sequence {@link CharSequence}.
+     * @param maxDistance The largest distance the caller cares about.
+     * @return The edit distance, or {@code maxDistance + 1} if it is larger.
+     */
+    static int boundedDistance(CharSequence s1, CharSequence s2, int maxDistance) {
+        int length1 = s1.length();
+        int length2 = s2.length();
+        int outOfBudget = maxDistance + 1;
+        if (Math.abs(length1 - length2) > maxDistance) {
+            return outOfBudget;
+        }
+
+        int[] rows = scratch(2 * (length2 + 1));
+        int previous = 0;
+        int current = length2 + 1;
+
+        for (int j = 0; j <= length2; j++) {
+            rows[previous + j] = Math.min(j, outOfBudget);
+        }
+
+        for (int i = 1; i <= length1; i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(length2, i + maxDistance);
+
+            rows[current] = Math.min(i, outOfBudget);
+            if (from > 1) {
+                rows[current + from - 1] = outOfBudget;
+            }
+            int rowMinimum = from == 1 ? rows[current] : outOfBudget;
+
+            char c1 = fold(s1.charAt(i - 1));
+            for (int j = from; j <= to; j++) {
+                int cost = c1 == fold(s2.charAt(j - 1)) ? 0 : 1;
+                int value = Math.min(rows[previous + j - 1] + cost,
+                        Math.min(rows[previous + j], rows[current + j - 1]) + 1);
+                if (value > outOfBudget) {
+                    value = outOfBudget;
+                }
+                rows[current + j] = value;
+                if (value < rowMinimum) {
+                    rowMinimum = value;
+                }
+            }
+            if (to < length2) {
+                rows[current + to + 1] = outOfBudget;
+            }
+
+            if (rowMinimum > maxDistance) {
+                return outOfBudget;
+            }
+
+            int swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(rows[previous + length2], outOfBudget);
+    }
+
+    static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        if (c >= ArabicCharClass.ARABIC_BLOCK_START
+                && c < ArabicCharClass.ARABIC_BLOCK_START + ArabicCharClass.ARABIC_BLOCK_SIZE) {
+            return c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static int[] scratch(int size) {
+        int[] buffer = SCRATCH.get();
+        if (buffer.length < size) {
+            buffer = new int[Math.max(size, buffer.length * 2)];
+            SCRATCH.set(buffer);
+        }
+        return buffer;
+    }
+}
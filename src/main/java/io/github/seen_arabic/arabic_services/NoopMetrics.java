@@ -0,0 +1,21 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * The disabled {@link ArabicMetrics}.
+ */
+enum NoopMetrics implements ArabicMetrics {
+    INSTANCE;
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void recordOperation(Operation operation, int inputLength, long nanos) {
+    }
+
+    @Override
+    public void recordBannedWordCheck(boolean banned, boolean cached, int comparisons, long nanos) {
+    }
+}
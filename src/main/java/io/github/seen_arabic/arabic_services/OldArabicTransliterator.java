@@ -0,0 +1,134 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * Table-driven transliterator from modern Arabic to old (dotless) Arabic.
+ *
+ * Letters are looked up in the dense old letter table of {@link Data},
+ * indexed by {@code c - U+0600}, and the final/isolated noon rule is resolved
+ * with a lookahead, so a conversion is a single pass with one output buffer.
+ */
+final class OldArabicTransliterator {
+    private static final char NO_MAPPING = Data.NO_OLD_LETTER;
+    private static final char REMOVE = Data.REMOVED_LETTER;
+
+    private static final char NOON = Data.NOON.charAt(0);
+    private static final char NOON_FINAL = Data.oldLetter(NOON);
+    private static final char NOON_MEDIAL = Data.oldLetter('ب');
+    /** The chars a transliteration rewrites. */
+    private static final CharRanges REWRITTEN = CharRanges.matching(c -> ArabicCharClass.isTashkeel((char) c)
+            || map((char) c) != NO_MAPPING && map((char) c) != c);
+    private static final ScratchBuilder OUTPUT = new ScratchBuilder();
+
+    private OldArabicTransliterator() {
+    }
+
+    /**
+     * Returns the same instance when the text has nothing to rewrite.
+     */
+    static String transliterate(String text) {
+        int first = FastScan.indexOfAny(text, 0, REWRITTEN);
+        if (first < 0) {
+            return text;
+        }
+        // The noon rule only looks ahead, so the chars before stay as they are
+        StringBuilder output = OUTPUT.take(text.length());
+        output.append(text, 0, first);
+        transliterate(text, first, text.length(), output);
+        return OUTPUT.finish(output);
+    }
+
+    /**
+     * Transliterates {@code text[start, end)} and appends the result to
+     * {@code output}. The end of the range counts as the end of the text for
+     * the noon rule.
+     */
+    static void transliterate(CharSequence text, int start, int end, StringBuilder output) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (ArabicCharClass.isTashkeel(c)) {
+                continue;
+            }
+            if (c == NOON) {
+                output.append(isFollowedByLetter(text, i + 1, end) ? NOON_MEDIAL : NOON_FINAL);
+                continue;
+            }
+            char mapped = map(c);
+            if (mapped != REMOVE) {
+                output.append(mapped == NO_MAPPING ? c : mapped);
+            }
+        }
+    }
+
+    /**
+     * Whether the next non-tashkeel character after {@code from} is an Arabic
+     * letter or tatweel, which makes a noon take its medial (dotless baa) form.
+     */
+    private static boolean isFollowedByLetter(CharSequence text, int from, int end) {
+        for (int i = from; i < end; i++) {
+            char c = text.charAt(i);
+            if (!ArabicCharClass.isTashkeel(c)) {
+                return isLetterOrTatweel(c);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLetterOrTatweel(char c) {
+        return ArabicCharClass.has(c, ArabicCharClass.ARABIC_LETTER | ArabicCharClass.TATWEEL);
+    }
+
+    private static char map(char c) {
+        return Data.oldLetter(c);
+    }
+
+    /**
+     * Transliterates text that arrives in chunks. A noon at the end of a chunk
+     * is held back until the next chunk shows what follows it.
+     */
+    static final class Chunked {
+        private boolean pendingNoon;
+
+        /**
+         * Transliterates {@code length} chars of {@code input} into
+         * {@code output}, which must hold at least {@code length + 1} chars.
+         *
+         * @return The number of chars written.
+         */
+        int transliterate(char[] input, int length, char[] output) {
+            int size = 0;
+            for (int i = 0; i < length; i++) {
+                char c = input[i];
+                if (ArabicCharClass.isTashkeel(c)) {
+                    continue;
+                }
+                if (pendingNoon) {
+                    output[size++] = isLetterOrTatweel(c) ? NOON_MEDIAL : NOON_FINAL;
+                    pendingNoon = false;
+                }
+                if (c == NOON) {
+                    pendingNoon = true;
+                    continue;
+                }
+                char mapped = map(c);
+                if (mapped != REMOVE) {
+                    output[size++] = mapped == NO_MAPPING ? c : mapped;
+                }
+            }
+            return size;
+        }
+
+        /**
+         * Flushes a held back noon once the input has ended.
+         *
+         * @return The number of chars written.
+         */
+        int finish(char[] output) {
+            if (!pendingNoon) {
+                return 0;
+            }
+            pendingNoon = false;
+            output[0] = NOON_FINAL;
+            return 1;
+        }
+    }
+}
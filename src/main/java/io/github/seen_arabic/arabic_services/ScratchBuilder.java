@@ -0,0 +1,50 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * A {@link StringBuilder} kept per thread, so a thread that transforms many
+ * texts, a worker of {@link ArabicBatch} for example, builds every output in
+ * the same buffer instead of allocating one for each text.
+ *
+ * A builder is taken for the length of a call and given back at its end; a
+ * nested call on the same thread, or a call that threw before giving it back,
+ * gets a new one. Builders grown past {@link #MAX_CAPACITY} by a long text are
+ * not kept.
+ */
+final class ScratchBuilder {
+    static final int MAX_CAPACITY = 1 << 16;
+
+    private final ThreadLocal<StringBuilder> builders = new ThreadLocal<>();
+
+    /**
+     * @param capacity The expected length of the output.
+     * @return An empty builder {@link StringBuilder}
+     */
+    StringBuilder take(int capacity) {
+        StringBuilder builder = builders.get();
+        if (builder == null) {
+            return new StringBuilder(capacity);
+        }
+        builders.set(null);
+        builder.setLength(0);
+        builder.ensureCapacity(capacity);
+        return builder;
+    }
+
+    /**
+     * Gives a builder back for the next call on this thread.
+     */
+    void release(StringBuilder builder) {
+        if (builder.capacity() <= MAX_CAPACITY) {
+            builders.set(builder);
+        }
+    }
+
+    /**
+     * @return The contents of the builder, which is given back {@link String}
+     */
+    String finish(StringBuilder builder) {
+        String result = builder.toString();
+        release(builder);
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * SipHash-2-4 of text, keyed with 128 bits.
+ *
+ * The text is hashed as its UTF-16LE bytes, four chars to a block, so no
+ * byte array is built. Without the key the hash of a word cannot be
+ * predicted, which is what keyed tashfeer relies on.
+ */
+final class SipHash {
+    private long v0;
+    private long v1;
+    private long v2;
+    private long v3;
+
+    private SipHash(long k0, long k1) {
+        v0 = 0x736f6d6570736575L ^ k0;
+        v1 = 0x646f72616e646f6dL ^ k1;
+        v2 = 0x6c7967656e657261L ^ k0;
+        v3 = 0x7465646279746573L ^ k1;
+    }
+
+    /**
+     * @param k0   The first 8 bytes of the key, little-endian.
+     * @param k1   The last 8 bytes of the key, little-endian.
+     * @param text The text to hash {@link CharSequence}
+     * @return The 64 bit hash.
+     */
+    static long hash(long k0, long k1, CharSequence text) {
+        return hash(k0, k1, text, 0, 0);
+    }
+
+    /**
+     * Hashes the text followed by the 8 bytes of an index, little-endian, so
+     * that one text gives a new value for each index.
+     *
+     * @param k0    The first 8 bytes of the key, little-endian.
+     * @param k1    The last 8 bytes of the key, little-endian.
+     * @param text  The text to hash {@link CharSequence}
+     * @param index The index appended to the text.
+     * @return The 64 bit hash.
+     */
+    static long hash(long k0, long k1, CharSequence text, long index) {
+        return hash(k0, k1, text, index, 4);
+    }
+
+    private static long hash(long k0, long k1, CharSequence text, long suffix, int suffixChars) {
+        SipHash state = new SipHash(k0, k1);
+        int length = text.length() + suffixChars;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            state.compress(charAt(text, suffix, i)
+                    | (long) charAt(text, suffix, i + 1) << 16
+                    | (long) charAt(text, suffix, i + 2) << 32
+                    | (long) charAt(text, suffix, i + 3) << 48);
+        }
+        // The last block holds the remaining chars and the length in bytes
+        long last = (long) (length * 2) << 56;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            last |= (long) charAt(text, suffix, i) << shift;
+        }
+        state.compress(last);
+        state.v2 ^= 0xff;
+        for (int round = 0; round < 4; round++) {
+            state.round();
+        }
+        return state.v0 ^ state.v1 ^ state.v2 ^ state.v3;
+    }
+
+    /**
+     * @return The char at {@code i} of the text followed by the chars of the
+     *         suffix.
+     */
+    private static char charAt(CharSequence text, long suffix, int i) {
+        int length = text.length();
+        return i < length ? text.charAt(i) : (char) (suffix >>> ((i - length) * 16));
+    }
+
+    private void compress(long block) {
+        v3 ^= block;
+        round();
+        round();
+        v0 ^= block;
+    }
+
+    private void round() {
+        v0 += v1;
+        v1 = Long.rotateLeft(v1, 13);
+        v1 ^= v0;
+        v0 = Long.rotateLeft(v0, 32);
+        v2 += v3;
+        v3 = Long.rotateLeft(v3, 16);
+        v3 ^= v2;
+        v0 += v3;
+        v3 = Long.rotateLeft(v3, 21);
+        v3 ^= v0;
+        v2 += v1;
+        v1 = Long.rotateLeft(v1, 17);
+        v1 ^= v2;
+        v2 = Long.rotateLeft(v2, 32);
+    }
+}
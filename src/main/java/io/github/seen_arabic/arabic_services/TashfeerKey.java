@@ -0,0 +1,326 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Keyed tashfeer: which letters of a word are replaced and by which glyphs
+ * is derived from the key and the word alone, so a word is always encrypted
+ * the same way under the same key, wherever it appears and whatever came
+ * before it, and nothing is kept between words.
+ *
+ * Choice {@code i} of a word is the SipHash of the key, the skeleton of the
+ * word and {@code i}. The skeleton writes each letter as its class, the
+ * letters and glyphs that tashfeer can turn into one another, "ب" "ت" and
+ * "ٮ" for example, so a word and its encryption have the same skeleton.
+ * Restoring a word recomputes its choices from the skeleton of the
+ * encrypted word, so each chosen glyph is mapped back with no search.
+ *
+ * Letters of a class can share glyphs, "ٮ" is one of the glyphs of "ب" "ت"
+ * and "ث", so at each place the letters of the class take their glyphs in
+ * turn and a letter whose choice is taken moves on to its next glyph. A
+ * glyph then stands for one letter at each place and the letter it
+ * replaced is known.
+ */
+final class TashfeerKey implements WordTashfeer {
+    private static final int KEY_LENGTH = 16;
+    /** The standard letters and the glyphs, sorted, and their classes. */
+    private static final char[] CLASS_CHARS;
+    private static final char[] CLASSES;
+    /** The letters of the class of each of {@link #CLASS_CHARS}, in block order. */
+    private static final String[] CLASS_LETTERS;
+
+    static {
+        Map<Character, Character> classes = new TreeMap<>();
+        for (char letter = ArabicCharClass.ARABIC_BLOCK_START; letter < ArabicCharClass.ARABIC_BLOCK_START
+                + ArabicCharClass.ARABIC_BLOCK_SIZE; letter++) {
+            if (!ArabicCharClass.isStandardLetter(letter)) {
+                continue;
+            }
+            classes.putIfAbsent(letter, letter);
+            // Variants are encrypted like their base letter
+            char base = baseLetter(letter);
+            classes.putIfAbsent(base, base);
+            union(classes, letter, base);
+            char[] replacements = Data.tashfeerReplacements(base);
+            for (char glyph : replacements) {
+                classes.putIfAbsent(glyph, glyph);
+                union(classes, base, glyph);
+            }
+        }
+        Map<Character, String> letters = new TreeMap<>();
+        for (char letter = ArabicCharClass.ARABIC_BLOCK_START; letter < ArabicCharClass.ARABIC_BLOCK_START
+                + ArabicCharClass.ARABIC_BLOCK_SIZE; letter++) {
+            if (ArabicCharClass.isStandardLetter(letter) && baseLetter(letter) == letter) {
+                letters.merge(find(classes, letter), String.valueOf(letter), String::concat);
+            }
+        }
+        CLASS_CHARS = new char[classes.size()];
+        CLASSES = new char[classes.size()];
+        CLASS_LETTERS = new String[classes.size()];
+        int i = 0;
+        for (char c : classes.keySet()) {
+            CLASS_CHARS[i] = c;
+            CLASSES[i] = find(classes, c);
+            CLASS_LETTERS[i] = letters.get(CLASSES[i]);
+            i++;
+        }
+    }
+
+    private final long k0;
+    private final long k1;
+
+    private TashfeerKey(long k0, long k1) {
+        this.k0 = k0;
+        this.k1 = k1;
+    }
+
+    /**
+     * @param key The 16 byte key.
+     * @return The key {@link TashfeerKey}
+     */
+    static TashfeerKey of(byte[] key) {
+        Objects.requireNonNull(key, Data.KEY_NULL_MESSAGE);
+        if (key.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("key must be " + KEY_LENGTH + " bytes");
+        }
+        return new TashfeerKey(littleEndian(key, 0), littleEndian(key, 8));
+    }
+
+    /**
+     * Encrypts a word like
+     * {@link ArabicServices#tashfeerHandler(String, int, java.util.Random)}
+     * does, with the choices taken from the key.
+     *
+     * @param word  The word {@link String}
+     * @param level The encryption level.
+     * @return The encrypted word {@link String}
+     */
+    @Override
+    public String encrypt(String word, int level) {
+        int length = word.length();
+        StringBuilder skeleton = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (ArabicCharClass.isStandardLetter(c)) {
+                skeleton.append(classOf(c));
+            }
+        }
+        boolean[] chosen = choose(skeleton, ArabicServices.calculateEncryptionLevel(level, Graphemes.count(word)));
+        StringBuilder output = new StringBuilder(length + skeleton.length());
+        int letter = -1;
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (!ArabicCharClass.isStandardLetter(c) || !chosen[++letter]) {
+                output.append(c);
+                continue;
+            }
+            if (i != 0 && !ArabicCharClass.isAloneLetter(Graphemes.previousBase(word, i))) {
+                output.append(ArabicNormalizer.TATWEEL);
+            }
+            output.append(glyphOf(baseLetter(c), glyphHash(skeleton, letter)));
+        }
+        return output.toString();
+    }
+
+    /**
+     * Restores a word encrypted by {@link #encrypt(String, int)}. Letters
+     * that share a glyph and get the same choice, rare in short words, are
+     * restored as the first of them, and letter variants as their base
+     * letter.
+     *
+     * @param word  The encrypted word {@link String}
+     * @param level The encryption level it was encrypted with.
+     * @return The original word, or null if the word was not encrypted with
+     *         this key and level {@link String}
+     */
+    String decrypt(String word, int level) {
+        int length = word.length();
+        StringBuilder skeleton = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = classOf(word.charAt(i));
+            if (c != 0) {
+                skeleton.append(c);
+            }
+        }
+        boolean[] chosen = choose(skeleton, ArabicServices.calculateEncryptionLevel(level, Graphemes.count(word)));
+        StringBuilder original = new StringBuilder(length);
+        int letter = -1;
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (classOf(c) == 0) {
+                original.append(c);
+                continue;
+            }
+            if (!chosen[++letter]) {
+                if (!ArabicCharClass.isStandardLetter(c)) {
+                    return null;
+                }
+                original.append(c);
+                continue;
+            }
+            if (!removeAddedTatweel(original)) {
+                return null;
+            }
+            char restored = letterOf(c, glyphHash(skeleton, letter));
+            if (restored == 0) {
+                return null;
+            }
+            original.append(restored);
+        }
+        String result = original.toString();
+        // Words with glyphs of their own, "1" in "ق1تل", have another skeleton
+        return encrypt(result, level).equals(word) ? result : null;
+    }
+
+    /**
+     * Drops the tatweel {@link #encrypt(String, int)} adds before a glyph
+     * that follows a joining letter.
+     *
+     * @return false if the tatweel that should be there is missing.
+     */
+    private static boolean removeAddedTatweel(StringBuilder original) {
+        int length = original.length();
+        if (length > 1 && original.charAt(length - 1) == ArabicNormalizer.TATWEEL
+                && !ArabicCharClass.isAloneLetter(Graphemes.previousBase(original, length - 1))) {
+            original.setLength(length - 1);
+            return true;
+        }
+        return length == 0 || ArabicCharClass.isAloneLetter(Graphemes.previousBase(original, length));
+    }
+
+    /**
+     * Partial Fisher-Yates shuffle of the letters of the skeleton.
+     */
+    private boolean[] choose(CharSequence skeleton, int count) {
+        int letters = skeleton.length();
+        int[] indexes = new int[letters];
+        for (int i = 0; i < letters; i++) {
+            indexes[i] = i;
+        }
+        boolean[] chosen = new boolean[letters];
+        for (int i = 0; i < Math.min(count, letters); i++) {
+            int j = i + bounded(SipHash.hash(k0, k1, skeleton, i), letters - i);
+            int letter = indexes[j];
+            indexes[j] = indexes[i];
+            indexes[i] = letter;
+            chosen[letter] = true;
+        }
+        return chosen;
+    }
+
+    /**
+     * The glyph choices come after the choices of the shuffle, which are
+     * fewer than the letters.
+     */
+    private long glyphHash(CharSequence skeleton, int letter) {
+        return SipHash.hash(k0, k1, skeleton, skeleton.length() + letter);
+    }
+
+    /**
+     * @return A value from 0 to {@code bound} - 1 taken from the high bits of
+     *         the hash.
+     */
+    private static int bounded(long hash, int bound) {
+        return (int) (((hash >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * @return The glyph that replaces the letter at a place with this hash.
+     */
+    private static char glyphOf(char letter, long hash) {
+        String letters = CLASS_LETTERS[Arrays.binarySearch(CLASS_CHARS, letter)];
+        StringBuilder taken = new StringBuilder(letters.length());
+        for (int i = 0; i < letters.length(); i++) {
+            char glyph = takeGlyph(letters.charAt(i), hash, taken);
+            if (letters.charAt(i) == letter) {
+                return glyph;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * @return The letter that is replaced by the glyph at a place with this
+     *         hash, or 0 if there is none.
+     */
+    private static char letterOf(char glyph, long hash) {
+        int i = Arrays.binarySearch(CLASS_CHARS, glyph);
+        if (i < 0) {
+            return 0;
+        }
+        String letters = CLASS_LETTERS[i];
+        StringBuilder taken = new StringBuilder(letters.length());
+        for (int j = 0; j < letters.length(); j++) {
+            if (takeGlyph(letters.charAt(j), hash, taken) == glyph) {
+                return letters.charAt(j);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Takes the glyph the hash chooses for the letter, or the next one that
+     * the letters before it in the class have not taken.
+     */
+    private static char takeGlyph(char letter, long hash, StringBuilder taken) {
+        char[] replacements = Data.tashfeerReplacements(letter);
+        int choice = bounded(hash, replacements.length);
+        char glyph = replacements[choice];
+        for (int i = 0; i < replacements.length; i++) {
+            char next = replacements[(choice + i) % replacements.length];
+            if (taken.indexOf(String.valueOf(next)) < 0) {
+                glyph = next;
+                break;
+            }
+        }
+        taken.append(glyph);
+        return glyph;
+    }
+
+    /**
+     * @return The class of a standard letter or glyph, or 0 for any other
+     *         char.
+     */
+    private static char classOf(char c) {
+        int i = Arrays.binarySearch(CLASS_CHARS, c);
+        return i >= 0 ? CLASSES[i] : 0;
+    }
+
+    private static char baseLetter(char letter) {
+        if (ArabicCharClass.has(letter, ArabicCharClass.ALEF_VARIANT)) {
+            return 'ا';
+        } else if (ArabicCharClass.has(letter, ArabicCharClass.WAW_VARIANT)) {
+            return 'و';
+        } else if (ArabicCharClass.has(letter, ArabicCharClass.YAA_VARIANT)) {
+            return 'ي';
+        }
+        return letter;
+    }
+
+    private static char find(Map<Character, Character> classes, char c) {
+        while (classes.get(c) != c) {
+            c = classes.get(c);
+        }
+        return c;
+    }
+
+    private static void union(Map<Character, Character> classes, char a, char b) {
+        char first = find(classes, a);
+        char second = find(classes, b);
+        if (first != second) {
+            // The lowest char stands for the class
+            classes.put((char) Math.max(first, second), (char) Math.min(first, second));
+        }
+    }
+
+    private static long littleEndian(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = value << 8 | (bytes[offset + i] & 0xff);
+        }
+        return value;
+    }
+}
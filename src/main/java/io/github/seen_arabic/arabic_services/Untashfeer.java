@@ -0,0 +1,154 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Maps tashfeer replacement glyphs back to the letters they stand for.
+ *
+ * Several letters share glyphs, "ٮ" stands for "ب", "ت" and "ث", so without
+ * more information the result is a best guess: every glyph becomes the first
+ * letter it replaces and the tatweel tashfeer adds is dropped. Text encrypted
+ * with a key is instead restored word by word, see
+ * {@link TashfeerKey#decrypt(String, int)}.
+ */
+final class Untashfeer {
+    /** The letters each glyph replaces, the letter tashfeer works on first. */
+    private static final Map<Character, String> ORIGINALS = new HashMap<>();
+
+    static {
+        for (char letter = ArabicCharClass.ARABIC_BLOCK_START; letter < ArabicCharClass.ARABIC_BLOCK_START
+                + ArabicCharClass.ARABIC_BLOCK_SIZE; letter++) {
+            char[] replacements = Data.tashfeerReplacements(letter);
+            if (replacements != null) {
+                for (char glyph : replacements) {
+                    addOriginal(glyph, letter);
+                }
+            }
+        }
+        // Letter variants are encrypted like their base letter
+        addVariants('ا', ArabicCharClass.ALEF_VARIANT);
+        addVariants('و', ArabicCharClass.WAW_VARIANT);
+        addVariants('ي', ArabicCharClass.YAA_VARIANT);
+    }
+
+    private Untashfeer() {
+    }
+
+    /**
+     * @param text    The encrypted text {@link String}
+     * @param decrypt Restores a word, or returns null if it cannot, or null
+     *                if the text was not encrypted with a key
+     *                {@link UnaryOperator}
+     * @return The text with the glyphs mapped back {@link String}
+     */
+    static String untashfeer(String text, UnaryOperator<String> decrypt) {
+        StringBuilder result = new StringBuilder(text.length());
+        int start = 0;
+        while (start < text.length()) {
+            boolean whitespace = isWhitespace(text.charAt(start));
+            int end = start + 1;
+            while (end < text.length() && isWhitespace(text.charAt(end)) == whitespace) {
+                end++;
+            }
+            String chunk = text.substring(start, end);
+            if (whitespace) {
+                result.append(chunk);
+            } else {
+                restore(chunk, decrypt, result);
+            }
+            start = end;
+        }
+        return result.toString();
+    }
+
+    /**
+     * A chunk is tried whole first, as a glyph at the end of a word is not
+     * joined to it by the tokenizer, "قتـ!" for "قتا", and then word by word
+     * for the punctuation around words.
+     */
+    private static void restore(String chunk, UnaryOperator<String> decrypt, StringBuilder result) {
+        if (decrypt == null) {
+            result.append(bestGuess(chunk));
+            return;
+        }
+        String original = decrypt.apply(chunk);
+        if (original != null) {
+            result.append(original);
+            return;
+        }
+        ArabicTokenizer tokenizer = new ArabicTokenizer(chunk);
+        while (tokenizer.next()) {
+            String token = chunk.substring(tokenizer.start(), tokenizer.end());
+            original = tokenizer.isWord() ? decrypt.apply(token) : null;
+            result.append(original != null ? original : bestGuess(token));
+        }
+    }
+
+    private static String bestGuess(String chunk) {
+        StringBuilder result = new StringBuilder(chunk.length());
+        boolean restored = false;
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (c == ArabicNormalizer.TATWEEL) {
+                continue;
+            }
+            if (isGlyphAt(chunk, i)) {
+                result.append(ORIGINALS.get(c).charAt(0));
+                restored = true;
+            } else {
+                result.append(c);
+            }
+        }
+        // Words without glyphs keep their own tatweel
+        return restored ? result.toString() : chunk;
+    }
+
+    /**
+     * Glyphs that are not letters, "!" or "1" for example, only count when
+     * they are joined to an Arabic letter the way tashfeer writes them, so
+     * "2021" or "كان!" are kept.
+     */
+    private static boolean isGlyphAt(String chunk, int i) {
+        char c = chunk.charAt(i);
+        if (!ORIGINALS.containsKey(c) || ArabicCharClass.isStandardLetter(c)) {
+            return false;
+        }
+        if (Character.isLetter(c)) {
+            return true;
+        }
+        return i > 0 && chunk.charAt(i - 1) == ArabicNormalizer.TATWEEL
+                || i + 1 < chunk.length() && joins(chunk.charAt(i + 1));
+    }
+
+    private static boolean joins(char c) {
+        return c == ArabicNormalizer.TATWEEL
+                || Character.isLetter(c) && Character.UnicodeScript.of(c) == Character.UnicodeScript.ARABIC;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return ArabicTokenizer.typeOf(c) == ArabicTokenizer.TokenType.WHITESPACE;
+    }
+
+    private static void addVariants(char letter, int property) {
+        char[] replacements = Data.tashfeerReplacements(letter);
+        for (char variant = ArabicCharClass.ARABIC_BLOCK_START; variant < ArabicCharClass.ARABIC_BLOCK_START
+                + ArabicCharClass.ARABIC_BLOCK_SIZE; variant++) {
+            if (ArabicCharClass.has(variant, property)) {
+                for (char glyph : replacements) {
+                    addOriginal(glyph, variant);
+                }
+            }
+        }
+    }
+
+    private static void addOriginal(char glyph, char letter) {
+        String originals = ORIGINALS.get(glyph);
+        if (originals == null) {
+            ORIGINALS.put(glyph, String.valueOf(letter));
+        } else if (originals.indexOf(letter) < 0) {
+            ORIGINALS.put(glyph, originals + letter);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, concurrent cache of banned word verdicts.
+ *
+ * Keys are spread over independently locked segments, each a
+ * {@link LinkedHashMap} in access order that evicts its least recently used
+ * entry once it is full, so threads only contend when they hit the same
+ * segment. Counters are {@link LongAdder}s and never block.
+ */
+final class VerdictCache {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final int maximumSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    VerdictCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.maximumSize = maximumSize;
+        int segmentCount = Integer.highestOneBit(Math.min(MAX_SEGMENTS, maximumSize));
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Spread the remainder so the segments add up to maximumSize
+            segments[i] = new Segment(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * @return The cached verdict, or null if the word is not cached.
+     */
+    Boolean get(String word) {
+        Segment segment = segmentFor(word);
+        Boolean verdict;
+        synchronized (segment) {
+            verdict = segment.get(word);
+        }
+        if (verdict == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return verdict;
+    }
+
+    void put(String word, boolean verdict) {
+        Segment segment = segmentFor(word);
+        synchronized (segment) {
+            segment.put(word, verdict);
+        }
+    }
+
+    int maximumSize() {
+        return maximumSize;
+    }
+
+    CacheStats stats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private Segment segmentFor(String word) {
+        int hash = word.hashCode();
+        hash ^= hash >>> 16;
+        return segments[hash & (segments.length - 1)];
+    }
+
+    private final class Segment extends LinkedHashMap<String, Boolean> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.seen_arabic.arabic_services;
+
+import java.util.Random;
+
+/**
+ * Encrypts one word with tashfeer, with the choices taken from a
+ * {@link Random} or from a {@link TashfeerKey}.
+ */
+interface WordTashfeer {
+
+    /**
+     * @param word  The word {@link String}
+     * @param level The encryption level.
+     * @return The encrypted word {@link String}
+     */
+    String encrypt(String word, int level);
+
+    /**
+     * @return Tashfeer with the choices taken from the random
+     *         {@link WordTashfeer}
+     */
+    static WordTashfeer of(Random random) {
+        return (word, level) -> ArabicServices.tashfeerHandler(word, level, random);
+    }
+}
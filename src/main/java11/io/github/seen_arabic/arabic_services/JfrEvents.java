@@ -0,0 +1,102 @@
+package io.github.seen_arabic.arabic_services;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Flight Recorder events behind {@link JfrArabicMetrics}, in the Java 11
+ * classes of the multi-release jar so that the Java 8 classes are compiled
+ * without {@code jdk.jfr}.
+ */
+final class JfrEvents implements ArabicMetrics {
+    /**
+     * The event begun on each thread for each operation and not recorded yet,
+     * by {@link Operation#ordinal()}. An operation that threw leaves its event
+     * here until its next start replaces it, so it is never recorded for
+     * another operation.
+     */
+    private final ThreadLocal<OperationEvent[]> operations = ThreadLocal
+            .withInitial(() -> new OperationEvent[Operation.values().length]);
+    private final ThreadLocal<BannedWordCheckEvent> checks = new ThreadLocal<>();
+
+    @Override
+    public void operationStarted(Operation operation) {
+        OperationEvent event = new OperationEvent();
+        event.begin();
+        operations.get()[operation.ordinal()] = event;
+    }
+
+    @Override
+    public void recordOperation(Operation operation, int inputLength, long nanos) {
+        OperationEvent[] pending = operations.get();
+        OperationEvent event = pending[operation.ordinal()];
+        pending[operation.ordinal()] = null;
+        if (event == null) {
+            event = new OperationEvent();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.inputLength = inputLength;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void bannedWordCheckStarted() {
+        BannedWordCheckEvent event = new BannedWordCheckEvent();
+        event.begin();
+        checks.set(event);
+    }
+
+    @Override
+    public void recordBannedWordCheck(boolean banned, boolean cached, int comparisons, long nanos) {
+        BannedWordCheckEvent event = checks.get();
+        if (event == null) {
+            // Found by the phrase scan, which is timed with the operation
+            event = new BannedWordCheckEvent();
+        } else {
+            checks.remove();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.banned = banned;
+            event.cached = cached;
+            event.comparisons = comparisons;
+            event.commit();
+        }
+    }
+
+    @Name("io.github.seen_arabic.Operation")
+    @Label("Arabic Operation")
+    @Category("Arabic Services")
+    @Description("A call of an ArabicServices, ArabicTextProcessor or ArabicPipeline operation")
+    static final class OperationEvent extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Input Length")
+        @Description("The length of the input text in chars")
+        int inputLength;
+    }
+
+    @Name("io.github.seen_arabic.BannedWordCheck")
+    @Label("Banned Word Check")
+    @Category("Arabic Services")
+    @Description("A check of one word against the banned word dictionary")
+    static final class BannedWordCheckEvent extends Event {
+        @Label("Banned")
+        boolean banned;
+
+        @Label("Cached")
+        @Description("The verdict came from the verdict cache")
+        boolean cached;
+
+        @Label("Comparisons")
+        @Description("The number of banned words the edit distance ran against")
+        int comparisons;
+    }
+}
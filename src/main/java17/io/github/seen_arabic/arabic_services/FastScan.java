@@ -0,0 +1,39 @@
+package io.github.seen_arabic.arabic_services;
+
+/**
+ * Finds the first char an operation would rewrite, so that text with nothing
+ * to rewrite, Latin, digits or Arabic without tashkeel, is returned as the
+ * same instance without being copied.
+ *
+ * This is the Java 17 version of the class in the multi-release jar. When the
+ * application is started with {@code --add-modules jdk.incubator.vector},
+ * texts long enough to fill a few vectors are scanned by {@link VectorScan};
+ * otherwise, and for short texts, the scan is the scalar one of Java 8.
+ */
+final class FastScan {
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private FastScan() {
+    }
+
+    /**
+     * @param text   The text to scan {@link String}
+     * @param from   The offset to start from.
+     * @param ranges The chars to look for {@link CharRanges}
+     * @return The offset of the first char in {@code ranges}, or -1 if there
+     *         is none.
+     */
+    static int indexOfAny(String text, int from, CharRanges ranges) {
+        if (VECTORIZED && text.length() - from >= VectorScan.MIN_LENGTH) {
+            return VectorScan.indexOfAny(text, from, ranges);
+        }
+        return ranges.indexIn(text, from);
+    }
+
+    /**
+     * @return true if scans compare several chars at a time.
+     */
+    static boolean isVectorized() {
+        return VECTORIZED;
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.seen_arabic.arabic_services;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The vector scan of {@link FastScan}, only loaded when the
+ * {@code jdk.incubator.vector} module is present.
+ *
+ * The text is copied a chunk at a time into a per-thread buffer and compared
+ * a vector of chars at a time. A char is in a range when {@code c - low},
+ * compared unsigned, is at most {@code high - low}, so each range costs a
+ * subtraction and a comparison. Vectors with no char in the span of all the
+ * ranges, which is every vector of Latin text, are skipped after one range.
+ */
+final class VectorScan {
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+    /** Shorter texts are not worth copying. */
+    static final int MIN_LENGTH = 4 * SPECIES.length();
+    private static final int CHUNK_SIZE = 1024;
+    private static final ThreadLocal<char[]> CHUNK = ThreadLocal.withInitial(() -> new char[CHUNK_SIZE]);
+
+    private VectorScan() {
+    }
+
+    static int indexOfAny(String text, int from, CharRanges ranges) {
+        int size = ranges.size();
+        if (size == 0) {
+            return -1;
+        }
+        short spanLow = (short) ranges.low(0);
+        short spanWidth = (short) (ranges.high(size - 1) - ranges.low(0));
+        char[] chunk = CHUNK.get();
+        int length = text.length();
+        for (int start = from; start < length; start += CHUNK_SIZE) {
+            int count = Math.min(CHUNK_SIZE, length - start);
+            text.getChars(start, start + count, chunk, 0);
+            int bound = SPECIES.loopBound(count);
+            int i = 0;
+            for (; i < bound; i += SPECIES.length()) {
+                ShortVector chars = ShortVector.fromCharArray(SPECIES, chunk, i);
+                if (!inRange(chars, spanLow, spanWidth).anyTrue()) {
+                    continue;
+                }
+                VectorMask<Short> found = inRange(chars, (short) ranges.low(0),
+                        (short) (ranges.high(0) - ranges.low(0)));
+                for (int range = 1; range < size; range++) {
+                    found = found.or(inRange(chars, (short) ranges.low(range),
+                            (short) (ranges.high(range) - ranges.low(range))));
+                }
+                if (found.anyTrue()) {
+                    return start + i + found.firstTrue();
+                }
+            }
+            for (; i < count; i++) {
+                if (ranges.contains(chunk[i])) {
+                    return start + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static VectorMask<Short> inRange(ShortVector chars, short low, short width) {
+        return chars.sub(low).compare(VectorOperators.UNSIGNED_LE, width);
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class ArabicAffixStripperTest {
+
+    @Test
+    public void testDefaultStripper() {
+        itShouldTakeTheLongestMatch();
+        itShouldReturnTheSameInstanceWithoutAffixes();
+    }
+
+    private void itShouldTakeTheLongestMatch() {
+        ArabicAffixStripper stripper = ArabicAffixStripper.defaultStripper();
+        assertEquals("كتاب", stripper.strip("الكتاب"));
+        assertEquals("عرب", stripper.strip("عربية"));
+    }
+
+    private void itShouldReturnTheSameInstanceWithoutAffixes() {
+        String word = "كتاب";
+        assertSame(word, ArabicAffixStripper.defaultStripper().strip(word));
+    }
+
+    @Test
+    public void testMinStemLength() {
+        ArabicAffixStripper stripper = ArabicAffixStripper.builder().minStemLength(3).build();
+        assertEquals("كتب", stripper.strip("الكتب"));
+        // "ال" would leave only two letters, the shorter "ا" is taken instead
+        assertEquals("لعب", stripper.strip("العب"));
+        assertEquals("بيت", stripper.strip("بيت"));
+        assertEquals("", ArabicAffixStripper.builder().minStemLength(0).build().strip("ال"));
+    }
+
+    @Test
+    public void testLayers() {
+        ArabicAffixStripper stripper = ArabicAffixStripper.builder()
+                .prefixes(Arrays.asList("و", "ف", "ال"))
+                .suffixes(Arrays.asList("ها", "ات"))
+                .minStemLength(2)
+                .layers(2)
+                .build();
+        assertEquals("كتاب", stripper.strip("والكتاب"));
+        assertEquals("معلم", stripper.strip("فالمعلمات"));
+        assertEquals("كتاب", ArabicAffixStripper.builder()
+                .prefixes(Arrays.asList("و", "ال"))
+                .build()
+                .strip("الكتاب"));
+        assertEquals("الكتاب", ArabicAffixStripper.builder()
+                .prefixes(Arrays.asList("و", "ال"))
+                .build()
+                .strip("والكتاب"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void layersShouldBePositive() {
+        ArabicAffixStripper.builder().layers(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void stripShouldRejectNull() {
+        ArabicAffixStripper.defaultStripper().strip(null);
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+public class ArabicBatchTest {
+
+    @Test
+    public void itShouldKeepInputOrder() {
+        List<String> texts = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            texts.add("نَصٌّ رقم " + i);
+            expected.add("نص رقم " + i);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(expected, ArabicBatch.removeTashkeelAll(texts, pool));
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(expected, ArabicBatch.removeTashkeelAll(texts));
+    }
+
+    @Test
+    public void testTashfeerBannedWordsAll() {
+        List<String> result = ArabicBatch.tashfeerBannedWordsAll(
+                Collections.nCopies(1000, "جيش العدو يقتل الأطفال"), 2, ForkJoinPool.commonPool());
+        assertEquals(1000, result.size());
+        for (String text : result) {
+            assertTrue(text.endsWith(" الأطفال"));
+            assertFalse(text.contains("جيش"));
+        }
+    }
+
+    @Test
+    public void testApplyAllAndMap() {
+        ArabicPipeline pipeline = ArabicPipeline.builder().removeTatweel().toOldArabic().build();
+        List<String> texts = Collections.nCopies(300, "نـون");
+        assertEquals(Collections.nCopies(300, "ٮوں"), ArabicBatch.applyAll(texts, pipeline));
+        assertEquals(Collections.nCopies(300, "ٮوں"),
+                ArabicBatch.map(texts.parallelStream(), pipeline).collect(Collectors.toList()));
+        assertTrue(ArabicBatch.textToOldArabicAll(Collections.<String>emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testReusedBuffers() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            itShouldNotLeakOutputBetweenTexts(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMapInBatches() {
+        itShouldKeepOrderAcrossBatches();
+        itShouldCloseTheInputStream();
+    }
+
+    private void itShouldNotLeakOutputBetweenTexts(ForkJoinPool pool) {
+        // Long and short texts alternate, so each one is built in a buffer a
+        // longer text used before
+        List<String> texts = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.setLength(0);
+            for (int j = 0; j < (i % 2 == 0 ? 200 : 1) + i % 7; j++) {
+                text.append("نُـون ");
+            }
+            texts.add(text.toString());
+        }
+        ArabicPipeline pipeline = ArabicPipeline.builder().removeTashkeel().removeTatweel().toOldArabic()
+                .tashfeerBanned(2).build();
+        List<String> withoutTashkeel = new ArrayList<>();
+        List<String> withoutTatweel = new ArrayList<>();
+        List<String> oldArabic = new ArrayList<>();
+        List<String> piped = new ArrayList<>();
+        for (String each : texts) {
+            withoutTashkeel.add(ArabicServices.removeTashkeel(each));
+            withoutTatweel.add(ArabicServices.removeTatweel(each));
+            oldArabic.add(ArabicServices.textToOldArabic(each));
+            piped.add(pipeline.apply(each));
+        }
+        assertEquals(withoutTashkeel, ArabicBatch.removeTashkeelAll(texts, pool));
+        assertEquals(withoutTatweel, ArabicBatch.removeTatweelAll(texts, pool));
+        assertEquals(oldArabic, ArabicBatch.textToOldArabicAll(texts, pool));
+        assertEquals(piped, ArabicBatch.applyAll(texts, pipeline, pool));
+        assertEquals(texts, ArabicBatch.tashfeerBannedWordsAll(texts, pool));
+        assertEquals(texts, ArabicBatch.tashfeerBannedWordsAll(texts, 1));
+    }
+
+    private void itShouldKeepOrderAcrossBatches() {
+        List<String> texts = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            texts.add("نَص " + i);
+            expected.add("نص " + i);
+        }
+        assertEquals(expected, ArabicBatch.map(texts.stream(), ArabicServices::removeTashkeel)
+                .collect(Collectors.toList()));
+        assertEquals(expected, ArabicBatch.map(texts.parallelStream(), ArabicServices::removeTashkeel)
+                .collect(Collectors.toList()));
+        assertEquals(5000, ArabicBatch.map(texts.stream(), ArabicServices::removeTashkeel).count());
+        assertEquals(expected.subList(0, 10), ArabicBatch.map(texts.stream(), ArabicServices::removeTashkeel)
+                .limit(10).collect(Collectors.toList()));
+    }
+
+    private void itShouldCloseTheInputStream() {
+        boolean[] closed = new boolean[1];
+        Stream<String> texts = Stream.of("نَص").onClose(() -> closed[0] = true);
+        ArabicBatch.map(texts, ArabicServices::removeTashkeel).close();
+        assertTrue(closed[0]);
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ArabicCanonicalizerTest {
+
+    @Test
+    public void testCanonicalize() {
+        itShouldDropTashkeelAndTatweel();
+        itShouldFoldLookalikeGlyphs();
+        itShouldFoldDotlessLetters();
+        itShouldKeepRepeatedLettersTwice();
+        itShouldOnlyFoldDigitsInArabicWords();
+        itShouldReturnTheSameInstanceWhenThereIsNothingToRewrite();
+    }
+
+    private void itShouldDropTashkeelAndTatweel() {
+        assertEquals("الجيش", ArabicCanonicalizer.canonicalize("الجَـــيْش"));
+    }
+
+    private void itShouldFoldLookalikeGlyphs() {
+        assertEquals("الجيش", ArabicCanonicalizer.canonicalize("اڵجېش"));
+        assertEquals("الجيش", ArabicCanonicalizer.canonicalize("|ڵـڃـۍـش"));
+    }
+
+    private void itShouldFoldDotlessLetters() {
+        // "ٮ" stands for "ب", "ت" and "ث" and becomes the first of them
+        assertEquals("بين", ArabicCanonicalizer.canonicalize("ٮيں"));
+        assertEquals("قفل", ArabicCanonicalizer.canonicalize("ٯڡل"));
+    }
+
+    private void itShouldKeepRepeatedLettersTwice() {
+        assertEquals("الجييش", ArabicCanonicalizer.canonicalize("الجييييش"));
+        assertEquals("الجييش", ArabicCanonicalizer.canonicalize("الجيـيـيـيش"));
+        assertEquals("معايير", ArabicCanonicalizer.canonicalize("معايير"));
+    }
+
+    private void itShouldOnlyFoldDigitsInArabicWords() {
+        assertEquals("الجيش", ArabicCanonicalizer.canonicalize("1لجيش"));
+        assertEquals("2021", ArabicCanonicalizer.canonicalize("2021"));
+    }
+
+    private void itShouldReturnTheSameInstanceWhenThereIsNothingToRewrite() {
+        String word = "الجيش";
+        assertSame(word, ArabicCanonicalizer.canonicalize(word));
+        String latin = "Hello";
+        assertSame(latin, ArabicCanonicalizer.canonicalize(latin));
+    }
+
+    @Test
+    public void testEvasiveSpellingsAreBanned() {
+        BannedWordDictionary dictionary = BannedWordDictionary.of("جيش", "سلاح");
+        assertFalse(dictionary.isBanned("جبل"));
+        assertTrue(dictionary.isBanned("جـيـيـيـيـش"));
+        assertTrue(dictionary.isBanned("ڃېش"));
+        assertTrue(dictionary.isBanned("ݜـڵ|ح"));
+        assertTrue(dictionary.isBanned("سلللللاح"));
+    }
+
+    @Test
+    public void testEvasiveSpellingsInPhrases() {
+        BannedWordDictionary dictionary = BannedWordDictionary.of("جيش العدو");
+        assertEquals(1, dictionary.findAll("هذا ڃېش العدو").size());
+    }
+}
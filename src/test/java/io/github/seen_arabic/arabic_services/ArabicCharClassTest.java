@@ -0,0 +1,38 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ArabicCharClassTest {
+
+    @Test
+    public void itShouldAgreeWithTheLetterTables() {
+        for (char c = '؀'; c <= 'ۿ'; c++) {
+            assertEquals(Data.STANDARD_LETTERS.contains(c), ArabicCharClass.isStandardLetter(c));
+            assertEquals(Data.ALONE_LETTERS.contains(c), ArabicCharClass.isAloneLetter(c));
+            assertEquals(Data.ALEF.contains(c), ArabicCharClass.has(c, ArabicCharClass.ALEF_VARIANT));
+            assertEquals(Data.WAW.contains(c), ArabicCharClass.has(c, ArabicCharClass.WAW_VARIANT));
+            assertEquals(Data.YAA.contains(c), ArabicCharClass.has(c, ArabicCharClass.YAA_VARIANT));
+            assertEquals(Data.oldLetter(c) != Data.NO_OLD_LETTER, ArabicCharClass.isArabicLetter(c));
+        }
+    }
+
+    @Test
+    public void testTashkeelAndTatweel() {
+        assertTrue(ArabicCharClass.isTashkeel('َ'));
+        assertTrue(ArabicCharClass.isTashkeel('ۭ'));
+        assertFalse(ArabicCharClass.isTashkeel('ا'));
+        assertTrue(ArabicCharClass.isTatweel('ـ'));
+        assertFalse(ArabicCharClass.isTatweel('-'));
+    }
+
+    @Test
+    public void itShouldHaveNoPropertiesOutsideTheArabicBlock() {
+        assertEquals(0, ArabicCharClass.properties('a'));
+        assertEquals(0, ArabicCharClass.properties('ݐ'));
+        assertEquals(0, ArabicCharClass.properties('￿'));
+    }
+}
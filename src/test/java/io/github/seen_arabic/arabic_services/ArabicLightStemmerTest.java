@@ -0,0 +1,48 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ArabicLightStemmerTest {
+
+    @Test
+    public void testStem() {
+        itShouldRemoveOnePrefixAndTheSuffixes();
+        itShouldNormalizeLetters();
+        itShouldKeepAtLeastTwoLetters();
+    }
+
+    private void itShouldRemoveOnePrefixAndTheSuffixes() {
+        assertEquals("معلم", ArabicLightStemmer.stem("والمعلمون"));
+        assertEquals("كتاب", ArabicLightStemmer.stem("بالكتاب"));
+        assertEquals("مدرس", ArabicLightStemmer.stem("مدرساتها"));
+        assertEquals("لعب", ArabicLightStemmer.stem("وَلَعِب"));
+    }
+
+    private void itShouldNormalizeLetters() {
+        assertEquals("امر", ArabicLightStemmer.stem("أمر"));
+        assertEquals("مدرس", ArabicLightStemmer.stem("المدرسـة"));
+        assertEquals("مستشف", ArabicLightStemmer.stem("مستشفى"));
+    }
+
+    private void itShouldKeepAtLeastTwoLetters() {
+        assertEquals("ولد", ArabicLightStemmer.stem("ولد"));
+        assertEquals("لها", ArabicLightStemmer.stem("لها"));
+        assertEquals("", ArabicLightStemmer.stem(""));
+    }
+
+    @Test
+    public void testRoot() {
+        assertEquals("كتب", ArabicLightStemmer.root("المكتوبة"));
+        assertEquals("كتب", ArabicLightStemmer.root("كاتب"));
+        assertEquals("كبر", ArabicLightStemmer.root("كبير"));
+        assertEquals("علم", ArabicLightStemmer.root("والعلم"));
+        assertEquals("مدرس", ArabicLightStemmer.root("مدرسة"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void stemShouldRejectNull() {
+        ArabicLightStemmer.stem(null);
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class ArabicMetricsTest {
+
+    @Test
+    public void testHistogram() {
+        itShouldBeExactForSmallValues();
+        itShouldStayWithinItsPrecisionForLargeValues();
+    }
+
+    private void itShouldBeExactForSmallValues() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.valueAtPercentile(99));
+        for (int value = 1; value <= 50; value++) {
+            histogram.record(value);
+        }
+        assertEquals(50, histogram.count());
+        assertEquals(25.5, histogram.mean(), 1e-9);
+        assertEquals(25, histogram.valueAtPercentile(50));
+        assertEquals(50, histogram.valueAtPercentile(100));
+        assertEquals(50, histogram.max());
+    }
+
+    private void itShouldStayWithinItsPrecisionForLargeValues() {
+        Histogram histogram = new Histogram();
+        histogram.record(1_000_000);
+        histogram.record(Long.MAX_VALUE);
+        long median = histogram.valueAtPercentile(50);
+        assertTrue(median >= 1_000_000 && median < 1_000_000 * 1.04);
+        assertEquals(Long.MAX_VALUE, histogram.valueAtPercentile(100));
+        for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            long highest = Histogram.highestValueOf(Histogram.bucketOf(value));
+            assertTrue(value <= highest && highest <= value + value / 32);
+        }
+    }
+
+    @Test
+    public void testArabicMetricsRecorder() {
+        ArabicMetricsRecorder metrics = new ArabicMetricsRecorder();
+        ArabicTextProcessor processor = ArabicTextProcessor.builder()
+                .dictionary(BannedWordDictionary.of("برتقال", "موز"))
+                .affixStripper(ArabicAffixStripper.builder()
+                        .prefixes(Collections.<String>emptyList())
+                        .suffixes(Collections.<String>emptyList())
+                        .build())
+                .cacheSize(16)
+                .metrics(metrics)
+                .build();
+        assertSame(metrics, processor.metrics());
+        processor.tashfeerBannedWords("برتقول و عنب");
+        processor.tashfeerBannedWords("برتقول");
+        processor.toOldArabicAndTashfeerBannedWords("الموز");
+
+        assertEquals(2, metrics.calls(ArabicMetrics.Operation.TASHFEER_BANNED_WORDS));
+        assertEquals(1, metrics.calls(ArabicMetrics.Operation.TO_OLD_ARABIC_AND_TASHFEER_BANNED_WORDS));
+        assertEquals(12, metrics.inputLength(ArabicMetrics.Operation.TASHFEER_BANNED_WORDS).max());
+        assertEquals(5, metrics.bannedWordChecks());
+        assertEquals(3, metrics.bannedWords());
+        assertEquals(0.6, metrics.bannedWordHitRate(), 1e-9);
+        assertEquals(1, metrics.cacheHits());
+        // Only words of a close enough length are compared: "برتقول" with
+        // "برتقال" and "عنب" with "موز", "و" is too short for either
+        assertEquals(2, metrics.comparisons().sum());
+    }
+
+    @Test
+    public void testDefaultProcessorMetrics() throws IOException {
+        assertFalse(ArabicTextProcessor.defaultProcessor().metrics().isEnabled());
+        ArabicTextProcessor original = ArabicServices.getDefaultProcessor();
+        ArabicMetricsRecorder metrics = new ArabicMetricsRecorder();
+        try {
+            ArabicServices.setDefaultProcessor(original.toBuilder().metrics(metrics).build());
+            ArabicServices.removeTashkeel("الخَيْلُ");
+            ArabicServices.removeTatweel("جميـــل");
+            ArabicServices.textToOldArabic("الخيل");
+            ArabicServices.tashfeer("الخيل", 1);
+            ArabicServices.tashfeerBannedWords("جيش");
+            ArabicServices.tashfeerBannedWords(new StringReader("جيش العدو"), new StringWriter(), 2);
+            ArabicPipeline.builder().tashfeerBanned().build().apply("جيش");
+        } finally {
+            ArabicServices.setDefaultProcessor(original);
+        }
+        for (ArabicMetrics.Operation operation : new ArabicMetrics.Operation[] {
+                ArabicMetrics.Operation.REMOVE_TASHKEEL, ArabicMetrics.Operation.REMOVE_TATWEEL,
+                ArabicMetrics.Operation.TEXT_TO_OLD_ARABIC, ArabicMetrics.Operation.TASHFEER,
+                ArabicMetrics.Operation.PIPELINE }) {
+            assertEquals(operation.name(), 1, metrics.calls(operation));
+        }
+        assertEquals(2, metrics.calls(ArabicMetrics.Operation.TASHFEER_BANNED_WORDS));
+        assertEquals(9, metrics.inputLength(ArabicMetrics.Operation.TASHFEER_BANNED_WORDS).max());
+        assertEquals(4, metrics.bannedWords());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void builderShouldRejectNullMetrics() {
+        ArabicTextProcessor.builder().metrics(null);
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ArabicPipelineTest {
+    private static final String POETRY = "الخَيْـلُ وَاللّيْـلُ وَالبَيْـداءُ تَعرِفُني";
+
+    @Test
+    public void itShouldMatchTheSingleTransforms() {
+        assertEquals(ArabicServices.removeTashkeel(POETRY),
+                ArabicPipeline.builder().removeTashkeel().build().apply(POETRY));
+        assertEquals(ArabicServices.removeTatweel(POETRY),
+                ArabicPipeline.builder().removeTatweel().build().apply(POETRY));
+        assertEquals(ArabicServices.textToOldArabic(POETRY),
+                ArabicPipeline.builder().toOldArabic().build().apply(POETRY));
+        assertEquals(ArabicServices.removeTatweel(ArabicServices.textToOldArabic(POETRY)),
+                ArabicPipeline.builder().removeTatweel().toOldArabic().build().apply(POETRY));
+    }
+
+    @Test
+    public void itShouldKeepWhitespace() {
+        String input = " نون\tنون\n";
+        assertEquals(" ٮوں\tٮوں\n", ArabicPipeline.builder().toOldArabic().build().apply(input));
+        assertEquals(input, ArabicPipeline.builder().build().apply(input));
+    }
+
+    @Test
+    public void itShouldTashfeerBannedWordsAndConvertTheRest() {
+        String sentence = "جَيش العدو يقتل الأطفال";
+        String result = ArabicPipeline.builder()
+                .tashfeerBanned()
+                .toOldArabic()
+                .removeTashkeel()
+                .build()
+                .apply(sentence);
+        assertTrue(result.endsWith(" الاطڡال"));
+        assertFalse(result.contains("جيش"));
+        assertFalse(result.contains("العدو"));
+        assertFalse(result.contains("يقتل"));
+    }
+
+    @Test
+    public void itShouldEncryptWithTheKeyOfTheDefaultProcessor() {
+        ArabicTextProcessor original = ArabicServices.getDefaultProcessor();
+        try {
+            ArabicServices.setDefaultProcessor(ArabicTextProcessor.builder().key(new byte[16]).build());
+            String sentence = "جيش العدو يقتل الأطفال";
+            ArabicPipeline pipeline = ArabicPipeline.builder().tashfeerBanned(2).build();
+            String result = pipeline.apply(sentence);
+            assertEquals(ArabicServices.tashfeerBannedWords(sentence, 2), result);
+            assertEquals(result, pipeline.apply(sentence));
+            assertEquals(sentence, ArabicServices.getDefaultProcessor().untashfeer(result));
+        } finally {
+            ArabicServices.setDefaultProcessor(original);
+        }
+    }
+
+    @Test
+    public void itShouldUseTheRandomSourceOfTheDefaultProcessor() {
+        ArabicTextProcessor original = ArabicServices.getDefaultProcessor();
+        try {
+            ArabicServices.setDefaultProcessor(ArabicTextProcessor.builder().seed(7L).build());
+            String sentence = "جيش العدو يقتل الأطفال";
+            assertEquals(ArabicServices.tashfeerBannedWords(sentence, 2),
+                    ArabicPipeline.builder().tashfeerBanned(2).build().apply(sentence));
+        } finally {
+            ArabicServices.setDefaultProcessor(original);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tashfeerBannedShouldRejectNegativeLevel() {
+        ArabicPipeline.builder().tashfeerBanned(-1);
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -14,6 +15,8 @@ public class ArabicServicesTest {
     public void testRemoveTashkeel() {
         itShouldRemoveAllTashkeelFromPoetryText();
         itShouldRemoveAllTashkeelFromQuranText();
+        itShouldKeepPunctuationAndOtherText();
+        itShouldReturnSameInstanceWhenNothingToRemove();
     }
 
     public void itShouldRemoveAllTashkeelFromPoetryText() {
@@ -30,9 +33,24 @@ public class ArabicServicesTest {
         assertEquals(expected, actual);
     }
 
+    public void itShouldKeepPunctuationAndOtherText() {
+        String input = "نَعَم, لا. (abc) 123";
+        String actual = ArabicServices.removeTashkeel(input);
+        String expected = "نعم, لا. (abc) 123";
+        assertEquals(expected, actual);
+    }
+
+    public void itShouldReturnSameInstanceWhenNothingToRemove() {
+        String input = "الخيل والليل";
+        String actual = ArabicServices.removeTashkeel(input);
+        assertSame(input, actual);
+    }
+
     @Test
     public void testRemoveTatweel() {
         itShouldRemoveAllTatweelFromText();
+        itShouldRemoveTatweelFromEveryWord();
+        itShouldReturnSameInstanceWhenNoTatweel();
     }
 
     public void itShouldRemoveAllTatweelFromText() {
@@ -42,10 +60,26 @@ public class ArabicServicesTest {
         assertEquals(expected, actual);
     }
 
+    private void itShouldRemoveTatweelFromEveryWord() {
+        String input = "ـقـال: الـجـو جـمـيـل ـ";
+        String actual = ArabicServices.removeTatweel(input);
+        String expected = "قال: الجو جميل ";
+        assertEquals(expected, actual);
+    }
+
+    private void itShouldReturnSameInstanceWhenNoTatweel() {
+        String input = "الجو جميل today";
+        assertSame(input, ArabicServices.removeTatweel(input));
+    }
+
     @Test
     public void testTextToOldArabic() {
         itShouldHandleNoon();
         itShouldHandleNoonWithTatweel();
+        itShouldHandleFinalNoonWithTashkeel();
+        itShouldHandleNoonWithTashkeelBeforeALetter();
+        itShouldHandleNoonWithTatweelBeforeALetter();
+        itShouldHandleNoonBeforeANonLetter();
         itShouldRemoveAllDotsAndTashkeelFromPoetryText();
         itShouldRemoveAllDotsAndTashkeelFromQuranText();
         itShouldRemoveAllDotsAndTashkeelFromArabicTextWithOtherText();
@@ -65,6 +99,34 @@ public class ArabicServicesTest {
         assertEquals(expected, actual);
     }
 
+    private void itShouldHandleFinalNoonWithTashkeel() {
+        String input = "مِنْ بنٌ مِنَّ";
+        String actual = ArabicServices.textToOldArabic(input);
+        String expected = "مں ٮں مں";
+        assertEquals(expected, actual);
+    }
+
+    private void itShouldHandleNoonWithTashkeelBeforeALetter() {
+        String input = "مِنَّا نَبِيل";
+        String actual = ArabicServices.textToOldArabic(input);
+        String expected = "مٮا ٮٮىل";
+        assertEquals(expected, actual);
+    }
+
+    private void itShouldHandleNoonWithTatweelBeforeALetter() {
+        String input = "نـبيل منـه";
+        String actual = ArabicServices.textToOldArabic(input);
+        String expected = "ٮـٮىل مٮـه";
+        assertEquals(expected, actual);
+    }
+
+    private void itShouldHandleNoonBeforeANonLetter() {
+        String input = "من, من! مَنْ؟ سكن. ن1";
+        String actual = ArabicServices.textToOldArabic(input);
+        String expected = "مں, مں! مں؟ سکں. ں1";
+        assertEquals(expected, actual);
+    }
+
     public void itShouldRemoveAllDotsAndTashkeelFromPoetryText() {
         String input = "الخَيْـلُ وَاللّيْـلُ وَالبَيْـداءُ تَعرِفُني وَالسّيفُ وَالرّمحُ والقرْطاسُ وَالقَلَـمُ";
         String actual = ArabicServices.textToOldArabic(input);
@@ -94,6 +156,22 @@ public class ArabicServicesTest {
         assertNotEquals(result, inputWord);
     }
 
+    @Test
+    public void tashfeerShouldOnlyReplaceArabicLetters() {
+        assertEquals("12345 abc", ArabicServices.tashfeer("12345 abc"));
+        String result = ArabicServices.tashfeer("a1ب");
+        assertTrue(result.startsWith("a1"));
+        assertFalse(result.contains("ب"));
+    }
+
+    @Test
+    public void testTashfeerWithSeed() {
+        String inputWord = "هذه الجملة مشفرة";
+        String result = ArabicServices.tashfeer(inputWord, 42L);
+        assertNotEquals(inputWord, result);
+        assertEquals(result, ArabicServices.tashfeer(inputWord, 42L));
+    }
+
     @Test
     public void testWordToLetters() {
         itShouldReturnAStringWithPronouncedArabicLetters();
@@ -127,6 +205,20 @@ public class ArabicServicesTest {
         assertEquals("هاء ذال هاء  جيم ميم لام تاء_مربوطة  ألف خاء راء ألف_لينة", result);
     }
 
+    @Test
+    public void wordToLettersShouldSpellOutLettersWithTashkeel() {
+        assertEquals("باء سين ميم", ArabicServices.wordToLetters("بِسْمِ"));
+    }
+
+    @Test
+    public void tashfeerBannedWordsShouldIgnoreTashkeelWhenMatching() {
+        String word = "عَدُوّ";
+        String result = ArabicServices.tashfeerBannedWords(word, 0, 3L);
+        assertNotEquals(word, result);
+        // Three letters at level 0 replace all of them, the tashkeel is kept
+        assertEquals(word.length(), result.replace("ـ", "").length());
+    }
+
     @Test
     public void testRemoveArabicAffixes() {
         itShouldRemoveAlfPrefixFromAWord();
@@ -145,6 +237,7 @@ public class ArabicServicesTest {
         itShouldRemoveYaNunSuffixFromAWord();
         itShouldRemoveWawNunSuffixFromAWord();
         itShouldRemoveHumSuffixFromAWord();
+        itShouldKeepShortWords();
     }
 
     private void itShouldRemoveAlfPrefixFromAWord() {
@@ -243,6 +336,13 @@ public class ArabicServicesTest {
         assertEquals("طلاب", result);
     }
 
+    private void itShouldKeepShortWords() {
+        assertEquals("ب", ArabicServices.removeArabicAffixes("ب"));
+        assertEquals("ل", ArabicServices.removeArabicAffixes("ال"));
+        assertEquals("ي", ArabicServices.removeArabicAffixes("بي"));
+        assertEquals("", ArabicServices.removeArabicAffixes(""));
+    }
+
     @Test
     public void tashfeerBannedWordsShouldPerformTashfeerEncryptionOnBannedWordsOnly() {
         String sentence = "جيش العدو يقتل الأطفال";
@@ -254,6 +354,16 @@ public class ArabicServicesTest {
         assertFalse(result.contains("يقتل"));
     }
 
+    @Test
+    public void tashfeerBannedWordsShouldBeReproducibleWithSeed() {
+        String sentence = "جيش العدو يقتل الأطفال";
+        String result = ArabicServices.tashfeerBannedWords(sentence, 2, 42L);
+        assertNotEquals(sentence, result);
+        assertEquals(result, ArabicServices.tashfeerBannedWords(sentence, 2, 42L));
+        assertEquals(ArabicServices.toOldArabicAndTashfeerBannedWords(sentence, 2, 7L),
+                ArabicServices.toOldArabicAndTashfeerBannedWords(sentence, 2, 7L));
+    }
+
     @Test
     public void tashfeerBannedWordsShouldNotPerformTashfeerEncryptionOnNonBannedWords() {
         String sentence = "هذه جملة غير مشفرة";
@@ -261,6 +371,26 @@ public class ArabicServicesTest {
         assertEquals(sentence, result);
     }
 
+    @Test
+    public void tashfeerBannedWordsShouldKeepSpacingAndPunctuation() {
+        String sentence = "جيش،  العدو؟\nهذه جملة";
+        String result = ArabicServices.tashfeerBannedWords(sentence);
+        assertTrue(result.contains("،  "));
+        assertTrue(result.endsWith("؟\nهذه جملة"));
+        assertFalse(result.contains("جيش"));
+        assertFalse(result.contains("العدو"));
+    }
+
+    @Test
+    public void tashfeerBannedWordsShouldCatchLetterGlyphPunctuation() {
+        String input = "هو ق!تل هنا";
+        String result = ArabicServices.tashfeerBannedWords(input, 2, 1L);
+        assertNotEquals(input, result);
+        assertTrue(result.startsWith("هو "));
+        assertTrue(result.endsWith(" هنا"));
+        assertFalse(result.contains("ق!تل"));
+    }
+
     @Test
     public void tashfeerBannedWordsShouldHandleEmptyInput() {
         String sentence = "";
@@ -278,4 +408,11 @@ public class ArabicServicesTest {
         assertFalse(result.contains("العدو"));
         assertFalse(result.contains("يقتل"));
     }
+
+    @Test
+    public void toOldArabicAndTashfeerBannedWordsShouldKeepSpacingAndPunctuation() {
+        String sentence = " نون،  الأطفال. ";
+        String result = ArabicServices.toOldArabicAndTashfeerBannedWords(sentence);
+        assertEquals(" ٮوں،  الاطڡال. ", result);
+    }
 }
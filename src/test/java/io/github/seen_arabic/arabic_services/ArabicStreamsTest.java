@@ -0,0 +1,131 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class ArabicStreamsTest {
+    private static final String QURAN_TEXT = "وَقَالُواْ ٱلۡحَمۡدُ لِلَّهِ ٱلَّذِيٓ أَذۡهَبَ عَنَّا ٱلۡحَزَنَۖ إِنَّ رَبَّنَا لَغَفُورٞ شَكُورٌ";
+
+    @Test
+    public void testRemoveTashkeel() throws IOException {
+        StringWriter out = new StringWriter();
+        ArabicServices.removeTashkeel(new ChunkedReader(QURAN_TEXT, 3), out);
+        assertEquals(ArabicServices.removeTashkeel(QURAN_TEXT), out.toString());
+    }
+
+    @Test
+    public void testRemoveTatweel() throws IOException {
+        StringWriter out = new StringWriter();
+        ArabicServices.removeTatweel(new ChunkedReader("جميــــل جـداً", 2), out);
+        assertEquals("جميل جداً", out.toString());
+    }
+
+    @Test
+    public void testTextToOldArabic() throws IOException {
+        itShouldMatchTheStringFormForEveryChunkSize(QURAN_TEXT);
+        itShouldMatchTheStringFormForEveryChunkSize("أنـــن5 نون. ننa");
+        itShouldMatchTheStringFormForEveryChunkSize("نَ");
+    }
+
+    private void itShouldMatchTheStringFormForEveryChunkSize(String input) throws IOException {
+        for (int chunkSize = 1; chunkSize <= input.length(); chunkSize++) {
+            StringWriter out = new StringWriter();
+            ArabicServices.textToOldArabic(new ChunkedReader(input, chunkSize), out);
+            assertEquals(ArabicServices.textToOldArabic(input), out.toString());
+        }
+    }
+
+    @Test
+    public void testTashfeerBannedWords() throws IOException {
+        itShouldTashfeerBannedWordsSplitAcrossChunks();
+        itShouldPassLongWordsThrough();
+        itShouldNotCountRepeatedLetters();
+        itShouldJoinLetterGlyphsAcrossChunks();
+    }
+
+    private void itShouldTashfeerBannedWordsSplitAcrossChunks() throws IOException {
+        String input = "جيش  العدو يقتل الأطفال";
+        StringWriter out = new StringWriter();
+        ArabicServices.tashfeerBannedWords(new ChunkedReader(input, 2), out, 2);
+        String result = out.toString();
+        assertTrue(result.endsWith(" الأطفال"));
+        assertFalse(result.contains("جيش"));
+        assertFalse(result.contains("العدو"));
+        assertFalse(result.contains("يقتل"));
+        assertEquals(4, result.split(" ", -1).length - 1);
+    }
+
+    private void itShouldPassLongWordsThrough() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            input.append('م');
+        }
+        input.append(" هذه جملة");
+        StringWriter out = new StringWriter();
+        ArabicServices.tashfeerBannedWords(new StringReader(input.toString()), out, 2);
+        assertEquals(input.toString(), out.toString());
+    }
+
+    private void itShouldNotCountRepeatedLetters() throws IOException {
+        StringBuilder input = new StringBuilder("ج");
+        for (int i = 0; i < 100; i++) {
+            input.append('ي');
+        }
+        input.append("ش هذه جملة");
+        StringWriter out = new StringWriter();
+        ArabicServices.tashfeerBannedWords(new ChunkedReader(input.toString(), 7), out, 2);
+        String result = out.toString();
+        assertFalse(result.equals(input.toString()));
+        assertTrue(result.endsWith(" هذه جملة"));
+    }
+
+    private void itShouldJoinLetterGlyphsAcrossChunks() throws IOException {
+        String input = "هو ق!تل هنا! ق!!";
+        for (int chunkSize = 1; chunkSize <= input.length(); chunkSize++) {
+            StringWriter out = new StringWriter();
+            ArabicServices.tashfeerBannedWords(new ChunkedReader(input, chunkSize), out, 2);
+            String result = out.toString();
+            assertTrue(result.startsWith("هو "));
+            assertTrue(result.endsWith(" هنا! ق!!"));
+            assertFalse(result.contains("ق!تل"));
+        }
+    }
+
+    /**
+     * Hands out at most {@code chunkSize} chars per read to exercise chunk
+     * edges.
+     */
+    private static final class ChunkedReader extends Reader {
+        private final String text;
+        private final int chunkSize;
+        private int position;
+
+        ChunkedReader(String text, int chunkSize) {
+            this.text = text;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            int count = Math.min(Math.min(length, chunkSize), text.length() - position);
+            text.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class ArabicTextProcessorTest {
+
+    private static final ArabicAffixStripper NO_AFFIXES = ArabicAffixStripper.builder()
+            .prefixes(Collections.<String>emptyList())
+            .suffixes(Collections.<String>emptyList())
+            .build();
+
+    @Test
+    public void testDefaultProcessor() {
+        ArabicTextProcessor processor = ArabicTextProcessor.defaultProcessor();
+        assertSame(BannedWordDictionary.defaultDictionary(), processor.dictionary());
+        assertSame(ArabicAffixStripper.defaultStripper(), processor.affixStripper());
+        assertEquals(BannedWordIndex.DEFAULT_SIMILARITY_THRESHOLD, processor.similarityThreshold(), 0);
+        assertEquals(2, processor.levelOfTashfeer());
+        assertEquals(0, processor.cacheSize());
+        assertTrue(processor.isBanned("جيش"));
+        assertFalse(processor.isBanned("موز"));
+    }
+
+    @Test
+    public void testIsBanned() {
+        itShouldUseItsOwnDictionary();
+        itShouldUseItsOwnSimilarityThreshold();
+        itShouldUseItsOwnAffixes();
+    }
+
+    private void itShouldUseItsOwnDictionary() {
+        ArabicTextProcessor processor = ArabicTextProcessor.builder()
+                .dictionary(BannedWordDictionary.of("موز"))
+                .build();
+        assertTrue(processor.isBanned("موز"));
+        assertFalse(processor.isBanned("جيش"));
+        // The static facade keeps its own dictionary
+        assertFalse(ArabicServices.getDefaultProcessor().isBanned("موز"));
+    }
+
+    private void itShouldUseItsOwnSimilarityThreshold() {
+        ArabicTextProcessor.Builder builder = ArabicTextProcessor.builder()
+                .dictionary(BannedWordDictionary.of("برتقال"))
+                .affixStripper(NO_AFFIXES);
+        // One letter out of six differs
+        assertTrue(builder.similarityThreshold(80).build().isBanned("برتقول"));
+        assertFalse(builder.similarityThreshold(90).build().isBanned("برتقول"));
+    }
+
+    private void itShouldUseItsOwnAffixes() {
+        ArabicAffixStripper stripper = ArabicAffixStripper.builder()
+                .prefixes(Arrays.asList("زز"))
+                .suffixes(Collections.<String>emptyList())
+                .build();
+        ArabicTextProcessor processor = ArabicTextProcessor.builder()
+                .dictionary(BannedWordDictionary.of("برتقال"))
+                .affixStripper(stripper)
+                .similarityThreshold(100)
+                .build();
+        assertTrue(processor.isBanned("ززبرتقال"));
+        assertFalse(processor.isBanned("ببرتقال"));
+    }
+
+    @Test
+    public void testTashfeerBannedWords() {
+        itShouldBeReproducibleWithASeed();
+        itShouldUseItsOwnLevel();
+        itShouldStreamLikeTheStringForm();
+    }
+
+    private void itShouldBeReproducibleWithASeed() {
+        ArabicTextProcessor processor = ArabicTextProcessor.builder().seed(42).build();
+        String text = "قتل الجيش في الحرب";
+        String first = processor.tashfeerBannedWords(text);
+        assertEquals(first, processor.tashfeerBannedWords(text));
+        assertEquals(ArabicServices.tashfeerBannedWords(text, 2, 42), first);
+        assertNotEquals(text, first);
+        assertEquals(processor.toOldArabicAndTashfeerBannedWords(text),
+                processor.toOldArabicAndTashfeerBannedWords(text));
+    }
+
+    private void itShouldUseItsOwnLevel() {
+        ArabicTextProcessor processor = ArabicTextProcessor.builder().levelOfTashfeer(0).seed(5).build();
+        String text = "الجيش المحتل";
+        assertEquals(ArabicServices.tashfeerBannedWords(text, 0, 5), processor.tashfeerBannedWords(text));
+    }
+
+    private void itShouldStreamLikeTheStringForm() {
+        ArabicTextProcessor processor = ArabicTextProcessor.builder().seed(7).build();
+        String text = "الجيش والحرب";
+        StringWriter out = new StringWriter();
+        try {
+            processor.tashfeerBannedWords(new StringReader(text), out);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        assertEquals(processor.tashfeerBannedWords(text), out.toString());
+    }
+
+    @Test
+    public void testToBuilder() {
+        ArabicTextProcessor processor = ArabicTextProcessor.builder()
+                .dictionary(BannedWordDictionary.of("موز"))
+                .similarityThreshold(90)
+                .levelOfTashfeer(1)
+                .cacheSize(16)
+                .build();
+        assertTrue(processor.isBanned("موز"));
+        ArabicTextProcessor copy = processor.toBuilder().build();
+        assertSame(processor.dictionary(), copy.dictionary());
+        assertEquals(90, copy.similarityThreshold(), 0);
+        assertEquals(1, copy.levelOfTashfeer());
+        assertEquals(16, copy.cacheSize());
+        // The copy starts with an empty cache of its own
+        assertEquals(0, copy.cacheStats().size());
+        assertEquals(1, processor.cacheStats().size());
+    }
+
+    @Test
+    public void testSetDefaultProcessor() {
+        ArabicTextProcessor original = ArabicServices.getDefaultProcessor();
+        try {
+            ArabicServices.setDefaultProcessor(ArabicTextProcessor.builder()
+                    .dictionary(BannedWordDictionary.of("موز"))
+                    .seed(3)
+                    .build());
+            assertEquals(ArabicServices.tashfeerBannedWords("موز"), ArabicServices.tashfeerBannedWords("موز"));
+            assertNotEquals("موز", ArabicServices.tashfeerBannedWords("موز"));
+            assertEquals("الجيش", ArabicServices.tashfeerBannedWords("الجيش"));
+        } finally {
+            ArabicServices.setDefaultProcessor(original);
+        }
+        assertSame(original, ArabicServices.getDefaultProcessor());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setDefaultProcessorShouldRejectNull() {
+        ArabicServices.setDefaultProcessor(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void builderShouldRejectZeroSimilarityThreshold() {
+        ArabicTextProcessor.builder().similarityThreshold(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void builderShouldRejectSimilarityThresholdAbove100() {
+        ArabicTextProcessor.builder().similarityThreshold(101);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void builderShouldRejectNegativeLevel() {
+        ArabicTextProcessor.builder().levelOfTashfeer(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void builderShouldRejectNegativeCacheSize() {
+        ArabicTextProcessor.builder().cacheSize(-1);
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ArabicTokenizerTest {
+
+    @Test
+    public void itShouldSplitWordsWhitespaceAndPunctuation() {
+        String text = "مرحباً،  كيف الحال؟ (جيد)";
+        assertEquals(Arrays.asList(
+                "WORD:مرحباً", "PUNCTUATION:،", "WHITESPACE:  ", "WORD:كيف", "WHITESPACE: ",
+                "WORD:الحال", "PUNCTUATION:؟", "WHITESPACE: ", "PUNCTUATION:(", "WORD:جيد",
+                "PUNCTUATION:)"), tokens(text));
+    }
+
+    @Test
+    public void itShouldKeepTatweelAndDigitsInWords() {
+        assertEquals(Arrays.asList("WORD:جميــل", "PUNCTUATION:؛", "WORD:5ب"), tokens("جميــل؛5ب"));
+    }
+
+    @Test
+    public void itShouldKeepLetterGlyphsBetweenArabicLetters() {
+        assertEquals(Arrays.asList("WORD:ق!تل", "WHITESPACE: ", "WORD:قـ!تل"), tokens("ق!تل قـ!تل"));
+        assertEquals(Arrays.asList("WORD:كان", "PUNCTUATION:!", "WHITESPACE: ", "WORD:a", "PUNCTUATION:!",
+                "WORD:b", "WHITESPACE: ", "PUNCTUATION:!", "WORD:قتل", "WHITESPACE: ", "WORD:ق",
+                "PUNCTUATION:!", "WORD:1"), tokens("كان! a!b !قتل ق!1"));
+    }
+
+    @Test
+    public void testEmptyTextAndReset() {
+        ArabicTokenizer tokenizer = new ArabicTokenizer("");
+        assertFalse(tokenizer.next());
+        assertNull(tokenizer.type());
+        tokenizer.reset("كلمة");
+        tokenizer.next();
+        assertEquals(0, tokenizer.start());
+        assertEquals(4, tokenizer.end());
+        assertFalse(tokenizer.next());
+    }
+
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        ArabicTokenizer tokenizer = new ArabicTokenizer(text);
+        while (tokenizer.next()) {
+            tokens.add(tokenizer.type() + ":" + text.substring(tokenizer.start(), tokenizer.end()));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+public class BannedPhraseMatcherTest {
+
+    @Test
+    public void testFindAll() {
+        itShouldMatchOnWordBoundariesOnly();
+        itShouldIgnoreTashkeelAndWhitespaceRuns();
+        itShouldReportTheLongestMatch();
+        itShouldMatchTheCanonicalForm();
+        itShouldFindNothingInAnEmptyDictionary();
+    }
+
+    private void itShouldMatchOnWordBoundariesOnly() {
+        BannedWordDictionary dictionary = BannedWordDictionary.of("قتل");
+        assertEquals(Collections.singletonList(span(0, 3)), dictionary.findAll("قتل مقتل قتلى"));
+        assertEquals(Collections.singletonList(span(1, 4)), dictionary.findAll("(قتل)"));
+    }
+
+    private void itShouldIgnoreTashkeelAndWhitespaceRuns() {
+        BannedWordDictionary dictionary = BannedWordDictionary.of("جيش العدو");
+        String text = "هذا جَيْشُ  \n العدوّ";
+        assertEquals(Collections.singletonList(span(4, text.length())), dictionary.findAll(text));
+        assertEquals(Collections.singletonList(span(0, 9)), dictionary.findAll("جيش إلعدو"));
+        assertTrue(dictionary.findAll("جيش، العدو").isEmpty());
+    }
+
+    private void itShouldReportTheLongestMatch() {
+        BannedWordDictionary dictionary = BannedWordDictionary.of("جيش", "جيش العدو", "العدو الغاشم");
+        assertEquals(Arrays.asList(span(0, 9), span(4, 16)), dictionary.findAll("جيش العدو الغاشم"));
+        assertEquals(Arrays.asList(span(0, 3), span(9, 12)), dictionary.findAll("جيش كبير جيش"));
+    }
+
+    private void itShouldMatchTheCanonicalForm() {
+        BannedWordDictionary dictionary = BannedWordDictionary.of("جيش العدو", "قاتل");
+        assertEquals(Collections.singletonList(span(4, 13)), dictionary.findAll("هذا ڃېش العدو"));
+        assertEquals(Arrays.asList(span(0, 4), span(5, 11)), dictionary.findAll("ق1تل قــ|تل"));
+        assertTrue(dictionary.findAll("ق1 تل").isEmpty());
+    }
+
+    private void itShouldFindNothingInAnEmptyDictionary() {
+        assertTrue(BannedWordDictionary.of().findAll("جيش").isEmpty());
+    }
+
+    @Test
+    public void testSpans() {
+        BannedPhraseMatcher.Spans spans = BannedWordDictionary.of("جيش العدو")
+                .phraseSpans(new CanonicalText("قال جيش العدو هنا"));
+        assertFalse(spans.covers(0, 3));
+        assertTrue(spans.covers(4, 7));
+        assertTrue(spans.covers(8, 13));
+        assertFalse(spans.covers(14, 17));
+    }
+
+    @Test
+    public void tashfeerBannedWordsShouldEncryptEveryWordOfAPhrase() {
+        BannedWordDictionary original = ArabicServices.getBannedWordDictionary();
+        try {
+            ArabicServices.setBannedWordDictionary(BannedWordDictionary.of("مربع احمر"));
+            String result = ArabicServices.tashfeerBannedWords("رسم مربع احمر و مربع ازرق", 2, 7L);
+            List<String> words = Arrays.asList(result.split(" "));
+            assertEquals("رسم", words.get(0));
+            assertFalse(words.get(1).equals("مربع"));
+            assertFalse(words.get(2).equals("احمر"));
+            assertEquals("مربع", words.get(4));
+
+            words = Arrays.asList(ArabicPipeline.builder().tashfeerBanned().build().apply("مربع احمر").split(" "));
+            assertFalse(words.get(0).equals("مربع"));
+            assertFalse(words.get(1).equals("احمر"));
+        } finally {
+            ArabicServices.setBannedWordDictionary(original);
+        }
+    }
+
+    private static BannedWordDictionary.Span span(int start, int end) {
+        return new BannedWordDictionary.Span(start, end);
+    }
+}
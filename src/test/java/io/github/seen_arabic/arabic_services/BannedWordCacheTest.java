@@ -0,0 +1,87 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BannedWordCacheTest {
+
+    @Test
+    public void testVerdictCache() {
+        itShouldCountHitsAndMisses();
+        itShouldEvictLeastRecentlyUsed();
+    }
+
+    private void itShouldCountHitsAndMisses() {
+        VerdictCache cache = new VerdictCache(100);
+        assertNull(cache.get("عدو"));
+        cache.put("عدو", true);
+        assertTrue(cache.get("عدو"));
+        assertTrue(cache.get("عدو"));
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+        assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+    }
+
+    private void itShouldEvictLeastRecentlyUsed() {
+        VerdictCache cache = new VerdictCache(1);
+        cache.put("جيش", true);
+        cache.put("موز", false);
+        assertNull(cache.get("جيش"));
+        assertFalse(cache.get("موز"));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(1, cache.stats().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verdictCacheShouldRejectNonPositiveSize() {
+        new VerdictCache(0);
+    }
+
+    @Test
+    public void testBannedWordFilter() {
+        BannedWordFilter filter = new BannedWordFilter(BannedWordDictionary.of("موز"), 16);
+        assertTrue(filter.isBanned("الموز"));
+        assertTrue(filter.isBanned("الموز"));
+        // Verdicts are cached by canonical form
+        assertTrue(filter.isBanned("الـمـوز"));
+        assertFalse(filter.isBanned("عنب"));
+        CacheStats stats = filter.cacheStats();
+        assertEquals(2, stats.hits());
+        assertEquals(2, stats.misses());
+
+        BannedWordFilter uncached = new BannedWordFilter(BannedWordDictionary.of("موز"), 0);
+        assertTrue(uncached.isBanned("الموز"));
+        assertEquals(0, uncached.cacheStats().misses());
+    }
+
+    @Test
+    public void testEnableBannedWordCache() {
+        BannedWordDictionary original = ArabicServices.getBannedWordDictionary();
+        try {
+            ArabicServices.enableBannedWordCache(64);
+            assertEquals("موز", ArabicServices.tashfeerBannedWords("موز"));
+            assertEquals("موز", ArabicServices.tashfeerBannedWords("موز"));
+            assertEquals(1, ArabicServices.getBannedWordCacheStats().hits());
+
+            // A new dictionary must not see verdicts cached for the old one
+            ArabicServices.setBannedWordDictionary(BannedWordDictionary.of("موز"));
+            assertEquals(0, ArabicServices.getBannedWordCacheStats().size());
+            assertFalse(ArabicServices.tashfeerBannedWords("موز").equals("موز"));
+        } finally {
+            ArabicServices.disableBannedWordCache();
+            ArabicServices.setBannedWordDictionary(original);
+        }
+        assertEquals(0, ArabicServices.getBannedWordCacheStats().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void enableBannedWordCacheShouldRejectNonPositiveSize() {
+        ArabicServices.enableBannedWordCache(0);
+    }
+}
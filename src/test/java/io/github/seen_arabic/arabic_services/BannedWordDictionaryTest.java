@@ -0,0 +1,153 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BannedWordDictionaryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDefaultDictionary() {
+        BannedWordDictionary dictionary = BannedWordDictionary.defaultDictionary();
+        assertEquals(Data.BANNED_WORDS.length, dictionary.size());
+        assertTrue(dictionary.isBanned("العدو"));
+        assertFalse(dictionary.isBanned("الأطفال"));
+    }
+
+    @Test
+    public void testStemIndex() {
+        BannedWordDictionary dictionary = BannedWordDictionary.of("معلم", "فلسطين");
+        assertTrue(dictionary.isBanned("والمعلمون"));
+        assertTrue(dictionary.isBanned("بالمعلمات"));
+        // The affix stripper alone cuts the entry down to "فلسط"
+        assertTrue(dictionary.isBanned("فلسطين"));
+        assertFalse(dictionary.isBanned("الكتاب"));
+    }
+
+    @Test
+    public void testLoad() throws IOException {
+        itShouldLoadFromReaderSkippingCommentsAndBlankLines();
+        itShouldLoadFromUtf8Stream();
+    }
+
+    private void itShouldLoadFromReaderSkippingCommentsAndBlankLines() throws IOException {
+        String source = "# banned words\n\nبُرتقال\n  تفاحـــة  \nبرتقال\n";
+        BannedWordDictionary dictionary = BannedWordDictionary.load(new StringReader(source));
+        assertEquals(Arrays.asList("برتقال", "تفاحة"), dictionary.words());
+        assertTrue(dictionary.isBanned("البرتقال"));
+        assertFalse(dictionary.isBanned("العدو"));
+    }
+
+    private void itShouldLoadFromUtf8Stream() throws IOException {
+        byte[] source = "موز\r\nعنب\r\n".getBytes(StandardCharsets.UTF_8);
+        BannedWordDictionary dictionary = BannedWordDictionary.load(new ByteArrayInputStream(source));
+        assertEquals(Arrays.asList("موز", "عنب"), dictionary.words());
+    }
+
+    @Test
+    public void testSetBannedWordDictionary() {
+        BannedWordDictionary original = ArabicServices.getBannedWordDictionary();
+        try {
+            ArabicServices.setBannedWordDictionary(BannedWordDictionary.of("موز"));
+            assertEquals("جيش العدو", ArabicServices.tashfeerBannedWords("جيش العدو"));
+            assertFalse(ArabicServices.tashfeerBannedWords("الموز").contains("الموز"));
+        } finally {
+            ArabicServices.setBannedWordDictionary(original);
+        }
+        assertSame(original, ArabicServices.getBannedWordDictionary());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void setBannedWordDictionaryShouldRejectNull() {
+        ArabicServices.setBannedWordDictionary(null);
+    }
+
+    @Test
+    public void testCompile() throws IOException {
+        itShouldOpenWhatItCompiled();
+        itShouldJudgeWordsLikeTheSourceDictionary();
+        itShouldFindPhrasesLikeTheSourceDictionary();
+        itShouldCompileWordListsFromTheCommandLine();
+    }
+
+    private void itShouldOpenWhatItCompiled() throws IOException {
+        BannedWordDictionary source = BannedWordDictionary.of("برتقال", "موز", "بيع السلاح", "Hello");
+        Path file = folder.newFile().toPath();
+        source.compile(file);
+        BannedWordDictionary compiled = BannedWordDictionary.open(file);
+        assertEquals(source.words(), compiled.words());
+        assertEquals(source.size(), compiled.size());
+        assertTrue(compiled.isBanned("البرتقال"));
+        assertTrue(compiled.isBanned("hello"));
+        assertFalse(compiled.isBanned("عنب"));
+        String text = "لا بيع السلاح ولا الموز";
+        assertEquals(source.findAll(text), compiled.findAll(text));
+        assertEquals(ArabicTextProcessor.builder().dictionary(source).seed(1).build().tashfeerBannedWords(text),
+                ArabicTextProcessor.builder().dictionary(compiled).seed(1).build().tashfeerBannedWords(text));
+    }
+
+    private void itShouldJudgeWordsLikeTheSourceDictionary() throws IOException {
+        BannedWordDictionary source = BannedWordDictionary.defaultDictionary();
+        Path file = folder.newFile().toPath();
+        source.compile(file);
+        BannedWordDictionary compiled = BannedWordDictionary.open(file);
+        String[] words = { "العدو", "الأعداء", "جيوش", "والمقاتلون", "قتلى", "الأطفال", "الكتاب", "مدرسة" };
+        for (String word : words) {
+            assertEquals(word, source.isBanned(word), compiled.isBanned(word));
+        }
+        for (String word : Data.BANNED_WORDS) {
+            assertTrue(word, compiled.isBanned(word));
+        }
+    }
+
+    private void itShouldFindPhrasesLikeTheSourceDictionary() throws IOException {
+        // The tokenizer splits "ابو.جهل" like it splits "بيع السلاح"
+        BannedWordDictionary source = BannedWordDictionary.of("ابو.جهل", "بيع السلاح", "موز");
+        Path file = folder.newFile().toPath();
+        source.compile(file);
+        BannedWordDictionary compiled = BannedWordDictionary.open(file);
+        String[] texts = { "قال ابو.جهل اليوم", "لا بيع السلاح", "الموز و ابو جهل", "ابو.جهلهم" };
+        for (String text : texts) {
+            String expected = ArabicTextProcessor.builder().dictionary(source).seed(1).build()
+                    .tashfeerBannedWords(text);
+            assertEquals(text, expected,
+                    ArabicTextProcessor.builder().dictionary(compiled).seed(1).build().tashfeerBannedWords(text));
+            assertEquals(text, source.findAll(text), compiled.findAll(text));
+        }
+        assertFalse(ArabicServices.getDefaultProcessor().toBuilder().dictionary(compiled).build()
+                .tashfeerBannedWords("قال ابو.جهل اليوم").contains("ابو"));
+    }
+
+    private void itShouldCompileWordListsFromTheCommandLine() throws IOException {
+        Path fruits = folder.newFile().toPath();
+        Path vegetables = folder.newFile().toPath();
+        Files.write(fruits, "# fruits\nموز\nعنب\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(vegetables, "جزر\nموز\n".getBytes(StandardCharsets.UTF_8));
+        Path output = folder.newFile().toPath();
+        BannedWordDictionaryCompiler.compile(output, Arrays.asList(fruits, vegetables));
+        assertEquals(Arrays.asList("موز", "عنب", "جزر"), BannedWordDictionary.open(output).words());
+    }
+
+    @Test(expected = IOException.class)
+    public void openShouldRejectFilesThatAreNotCompiled() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "موز\nعنب\n".getBytes(StandardCharsets.UTF_8));
+        BannedWordDictionary.open(file);
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BannedWordIndexTest {
+
+    @Test
+    public void testMaxDistance() {
+        assertEquals(0, BannedWordIndex.maxDistance(0, 70));
+        assertEquals(0, BannedWordIndex.maxDistance(3, 70));
+        assertEquals(1, BannedWordIndex.maxDistance(4, 70));
+        assertEquals(3, BannedWordIndex.maxDistance(10, 70));
+        assertEquals(10, BannedWordIndex.maxDistance(10, 0));
+    }
+
+    @Test
+    public void testMatches() {
+        BannedWordIndex index = new BannedWordIndex(new String[] { "جيش", "خوارزم", "Hello" });
+        assertTrue(index.matches("جيش", 70));
+        assertTrue(index.matches("خوارزمي", 70));
+        assertTrue(index.matches("hello", 70));
+        assertFalse(index.matches("جيشنا", 70));
+        assertFalse(index.matches("", 70));
+        assertFalse(index.matches("الأطفال", 70));
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FastScanTest {
+
+    @Test
+    public void testCharRanges() {
+        CharRanges ranges = CharRanges.matching(c -> c >= 'b' && c <= 'd' || c == 'x' || c == Character.MAX_VALUE);
+        assertEquals(3, ranges.size());
+        assertEquals('b', ranges.low(0));
+        assertEquals('d', ranges.high(0));
+        assertEquals(Character.MAX_VALUE, ranges.high(2));
+        assertTrue(ranges.contains('c'));
+        assertTrue(ranges.contains(Character.MAX_VALUE));
+        assertFalse(ranges.contains('a'));
+        assertFalse(ranges.contains('e'));
+    }
+
+    @Test
+    public void testIndexOfAny() {
+        CharRanges ranges = CharRanges.matching(c -> ArabicCharClass.isTashkeel((char) c));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            text.append("نص عربي Latin 123 ");
+        }
+        assertEquals(-1, FastScan.indexOfAny(text.toString(), 0, ranges));
+        text.setCharAt(333, 'َ');
+        text.setCharAt(4000, 'ُ');
+        assertEquals(333, FastScan.indexOfAny(text.toString(), 0, ranges));
+        assertEquals(4000, FastScan.indexOfAny(text.toString(), 334, ranges));
+        assertEquals(-1, FastScan.indexOfAny(text.toString(), 4001, ranges));
+    }
+
+    @Test
+    public void testSameInstance() {
+        itShouldReturnTextWithoutTashkeelAsItIs();
+        itShouldReturnTextWithoutDotsAsItIs();
+    }
+
+    private void itShouldReturnTextWithoutTashkeelAsItIs() {
+        String text = "هذا نص بدون تشكيل, and some Latin 2024";
+        assertSame(text, ArabicServices.removeTashkeel(text));
+        assertSame(text, ArabicServices.removeTatweel(text));
+    }
+
+    private void itShouldReturnTextWithoutDotsAsItIs() {
+        String latin = "Hello, 2024!";
+        assertSame(latin, ArabicServices.textToOldArabic(latin));
+        // Every letter of "الحمد" is already dotless
+        String dotless = "الحمد لله";
+        assertSame(dotless, ArabicServices.textToOldArabic(dotless));
+        assertEquals("Hello ٮٮٮ", ArabicServices.textToOldArabic("Hello بنت"));
+    }
+}
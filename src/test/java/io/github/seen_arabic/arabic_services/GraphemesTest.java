@@ -0,0 +1,56 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class GraphemesTest {
+
+    @Test
+    public void testNext() {
+        itShouldKeepTashkeelWithItsLetter();
+        itShouldKeepSurrogatePairsTogether();
+        itShouldKeepTatweelWithTheLetterBeforeIt();
+    }
+
+    private void itShouldKeepTashkeelWithItsLetter() {
+        String word = "بِّسم";
+        assertEquals(3, Graphemes.next(word, 0));
+        assertEquals(4, Graphemes.next(word, 3));
+    }
+
+    private void itShouldKeepSurrogatePairsTogether() {
+        String text = "a\uD83D\uDE00\u0301b";
+        assertEquals(1, Graphemes.next(text, 0));
+        assertEquals(4, Graphemes.next(text, 1));
+    }
+
+    private void itShouldKeepTatweelWithTheLetterBeforeIt() {
+        assertEquals(4, Graphemes.next("كـــتاب", 0));
+    }
+
+    @Test
+    public void testCount() {
+        assertEquals(0, Graphemes.count(""));
+        assertEquals(5, Graphemes.count("العَدُوّ"));
+        assertEquals(4, Graphemes.count("كـــتاب"));
+        assertEquals(2, Graphemes.count("\uD83D\uDE00\u200Dب"));
+    }
+
+    @Test
+    public void testIsExtender() {
+        assertTrue(Graphemes.isExtender('\u064E'));
+        assertTrue(Graphemes.isExtender('ـ'));
+        assertTrue(Graphemes.isExtender('\u0301'));
+        assertFalse(Graphemes.isExtender('ب'));
+        assertFalse(Graphemes.isExtender(' '));
+    }
+
+    @Test
+    public void testPreviousBase() {
+        assertEquals('د', Graphemes.previousBase("دَب", 2));
+        assertEquals(0, Graphemes.previousBase("دب", 0));
+    }
+}
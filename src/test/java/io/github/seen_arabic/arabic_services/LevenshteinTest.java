@@ -0,0 +1,58 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LevenshteinTest {
+
+    @Test
+    public void testBoundedDistance() {
+        assertEquals(0, Levenshtein.boundedDistance("", "", 0));
+        assertEquals(3, Levenshtein.boundedDistance("", "abc", 3));
+        assertEquals(3, Levenshtein.boundedDistance("kitten", "sitting", 5));
+        assertEquals(2, Levenshtein.boundedDistance("kitten", "sitting", 1));
+        assertEquals(1, Levenshtein.boundedDistance("جيش", "الجيش", 0));
+        assertEquals(0, Levenshtein.boundedDistance("HeLLo", "hello", 0));
+    }
+
+    @Test
+    public void itShouldAgreeWithFullDistanceWithinBudget() {
+        Random random = new Random(7);
+        String alphabet = "ابتجحخدرسa";
+        for (int n = 0; n < 2000; n++) {
+            String s1 = randomWord(random, alphabet);
+            String s2 = randomWord(random, alphabet);
+            int expected = fullDistance(s1, s2);
+            for (int budget = 0; budget <= 8; budget++) {
+                assertEquals(Math.min(expected, budget + 1), Levenshtein.boundedDistance(s1, s2, budget));
+            }
+        }
+    }
+
+    private static String randomWord(Random random, String alphabet) {
+        StringBuilder word = new StringBuilder();
+        int length = random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return word.toString();
+    }
+
+    private static int fullDistance(String s1, String s2) {
+        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
+        for (int i = 0; i <= s1.length(); i++) {
+            for (int j = 0; j <= s2.length(); j++) {
+                if (i == 0 || j == 0) {
+                    dp[i][j] = i + j;
+                } else {
+                    int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+                    dp[i][j] = Math.min(dp[i - 1][j - 1] + cost, Math.min(dp[i - 1][j], dp[i][j - 1]) + 1);
+                }
+            }
+        }
+        return dp[s1.length()][s2.length()];
+    }
+}
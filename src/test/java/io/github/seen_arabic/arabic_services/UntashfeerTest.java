@@ -0,0 +1,105 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+public class UntashfeerTest {
+
+    private static final byte[] KEY = {
+            0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15 };
+    private static final byte[] OTHER_KEY = {
+            15, 14, 13, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1, 0 };
+
+    @Test
+    public void testSipHash() {
+        // Reference vectors of SipHash-2-4 for the key 00..0f
+        long k0 = 0x0706050403020100L;
+        long k1 = 0x0f0e0d0c0b0a0908L;
+        assertEquals(0x726fdb47dd0e0e31L, SipHash.hash(k0, k1, ""));
+        assertEquals(0x93f5f5799a932462L, SipHash.hash(k0, k1, "\u0100\u0302\u0504\u0706"));
+        assertEquals(0xf723ca908e7af2eeL,
+                SipHash.hash(k0, k1, "\u0100\u0302\u0504\u0706\u0908\u0b0a\u0d0c"));
+        // An index hashes like the 8 bytes it adds, 00..0f in all
+        assertEquals(0x3f2acc7f57c29bdbL, SipHash.hash(k0, k1, "\u0100\u0302\u0504\u0706", 0x0f0e0d0c0b0a0908L));
+        assertEquals(0x3f2acc7f57c29bdbL,
+                SipHash.hash(k0, k1, "\u0100\u0302\u0504\u0706\u0908\u0b0a\u0d0c\u0f0e"));
+    }
+
+    @Test
+    public void testTashfeerWithKey() {
+        itShouldEncryptAWordTheSameWayWhereverItIs();
+        itShouldDependOnTheKey();
+    }
+
+    private void itShouldEncryptAWordTheSameWayWhereverItIs() {
+        String word = ArabicServices.tashfeerWithKey("الجيش", KEY);
+        assertNotEquals("الجيش", word);
+        assertEquals(word + " " + word + "، " + word,
+                ArabicServices.tashfeerWithKey("الجيش الجيش، الجيش", KEY));
+    }
+
+    private void itShouldDependOnTheKey() {
+        String text = "هذه الجملة مشفرة بمفتاح سري";
+        assertNotEquals(ArabicServices.tashfeerWithKey(text, KEY),
+                ArabicServices.tashfeerWithKey(text, OTHER_KEY));
+    }
+
+    @Test
+    public void testUntashfeerWithKey() {
+        String text = "هذه الجملة مشفرة بمفتاح سري، والجيش يتقدم";
+        assertEquals(text, ArabicServices.untashfeerWithKey(ArabicServices.tashfeerWithKey(text, KEY), KEY));
+    }
+
+    @Test
+    public void testUntashfeer() {
+        itShouldMapGlyphsToTheirFirstLetter();
+        itShouldKeepWordsWithoutGlyphs();
+    }
+
+    private void itShouldMapGlyphsToTheirFirstLetter() {
+        // "ٮ" stands for "ب", "ت" and "ث"
+        assertEquals("بيب", ArabicServices.untashfeer("ٮـېـٮ"));
+        // "!" stands for "ا" between letters
+        assertEquals("هو قاتل هنا", ArabicServices.untashfeer("هو ق!تل هنا"));
+    }
+
+    private void itShouldKeepWordsWithoutGlyphs() {
+        assertEquals("في عام 2021 كان!", ArabicServices.untashfeer("في عام 2021 كان!"));
+    }
+
+    @Test
+    public void untashfeerWithKeyShouldRestoreLettersThatShareGlyphs() {
+        // "ٮ" stands for "ب" "ت" and "ث", "ڨ" for "ف" and "ق", "ح" for itself and "خ"
+        String text = "حقير شيخ، سقط ثابت تثبيت خوخ فقه وقتا!";
+        for (byte[] key : new byte[][] { KEY, OTHER_KEY }) {
+            String encrypted = ArabicServices.tashfeerWithKey(text, key);
+            assertNotEquals(text, encrypted);
+            assertEquals(text, ArabicServices.untashfeerWithKey(encrypted, key));
+        }
+    }
+
+    @Test
+    public void testProcessorUntashfeer() {
+        ArabicTextProcessor processor = ArabicTextProcessor.builder()
+                .dictionary(BannedWordDictionary.of("الجيش", "سلاح"))
+                .key(KEY)
+                .build();
+        String text = "الجيش يحمل سلاح ثقيل والجيش";
+        String encrypted = processor.tashfeerBannedWords(text);
+        assertNotEquals(text, encrypted);
+        assertEquals(encrypted, processor.tashfeerBannedWords(text));
+        assertEquals(text, processor.untashfeer(encrypted));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tashfeerWithKeyShouldRejectShortKeys() {
+        ArabicServices.tashfeerWithKey("الجيش", new byte[8]);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void builderShouldRejectNullKey() {
+        ArabicTextProcessor.builder().key(null);
+    }
+}
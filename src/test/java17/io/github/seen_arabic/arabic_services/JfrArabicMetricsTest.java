@@ -0,0 +1,87 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class JfrArabicMetricsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testJfrArabicMetrics() throws IOException {
+        ArabicTextProcessor processor = ArabicTextProcessor.builder()
+                .metrics(new JfrArabicMetrics())
+                .build();
+        Path file = folder.newFile("metrics.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable("io.github.seen_arabic.Operation");
+            recording.enable("io.github.seen_arabic.BannedWordCheck");
+            recording.start();
+            processor.tashfeerBannedWords("جيش العدو");
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        int operations = 0;
+        int checks = 0;
+        for (RecordedEvent event : events) {
+            String name = event.getEventType().getName();
+            if (name.equals("io.github.seen_arabic.Operation")) {
+                assertEquals("TASHFEER_BANNED_WORDS", event.getString("operation"));
+                assertEquals(9, event.getInt("inputLength"));
+                assertTrue(event.getDuration().toNanos() > 0);
+                operations++;
+            } else if (name.equals("io.github.seen_arabic.BannedWordCheck")) {
+                assertTrue(event.getBoolean("banned"));
+                checks++;
+            }
+        }
+        assertEquals(1, operations);
+        assertEquals(2, checks);
+    }
+
+    @Test
+    public void itShouldNotRecordTheStartOfAFailedCall() throws IOException, InterruptedException {
+        ArabicMetrics metrics = new JfrArabicMetrics();
+        Path file = folder.newFile("failed.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable("io.github.seen_arabic.Operation");
+            recording.start();
+            metrics.operationStarted(ArabicMetrics.Operation.PIPELINE);
+            Thread.sleep(50);
+            // A nested call that throws before it is recorded
+            metrics.operationStarted(ArabicMetrics.Operation.REMOVE_TASHKEEL);
+            metrics.recordOperation(ArabicMetrics.Operation.PIPELINE, 4, 0);
+            Thread.sleep(50);
+            metrics.operationStarted(ArabicMetrics.Operation.REMOVE_TASHKEEL);
+            metrics.recordOperation(ArabicMetrics.Operation.REMOVE_TASHKEEL, 2, 0);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(2, events.size());
+        for (RecordedEvent event : events) {
+            Duration duration = event.getDuration();
+            if (event.getString("operation").equals("PIPELINE")) {
+                assertTrue(duration.toMillis() >= 50);
+            } else {
+                assertEquals("REMOVE_TASHKEEL", event.getString("operation"));
+                assertTrue(duration.toMillis() < 50);
+            }
+        }
+    }
+}
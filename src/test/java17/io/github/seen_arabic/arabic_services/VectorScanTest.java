@@ -0,0 +1,85 @@
+package io.github.seen_arabic.arabic_services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import jdk.incubator.vector.ShortVector;
+import org.junit.Test;
+
+public class VectorScanTest {
+    private static final int LANES = ShortVector.SPECIES_PREFERRED.length();
+    /** The chunk {@link VectorScan} copies the text into. */
+    private static final int CHUNK_SIZE = 1024;
+    private static final CharRanges TASHKEEL = CharRanges.matching(c -> ArabicCharClass.isTashkeel((char) c));
+    private static final CharRanges EDGES = CharRanges.matching(c -> c == 0 || c == 'x'
+            || c == Character.MAX_VALUE);
+
+    @Test
+    public void testIndexOfAny() {
+        itShouldRunWithTheVectorModule();
+        itShouldMatchTheScalarScanAtTheTailBoundaries();
+        itShouldMatchTheScalarScanAtTheChunkBoundaries();
+        itShouldMatchTheScalarScanOnRandomTexts();
+    }
+
+    private void itShouldRunWithTheVectorModule() {
+        assertTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+    }
+
+    private void itShouldMatchTheScalarScanAtTheTailBoundaries() {
+        for (int length = VectorScan.MIN_LENGTH - 1; length <= VectorScan.MIN_LENGTH + 2 * LANES + 1; length++) {
+            // A match in every lane of the last vectors and in the tail after them
+            for (int match = -1; match < length; match++) {
+                char[] text = text(length, 'ب');
+                if (match >= 0) {
+                    text[match] = 'َ';
+                }
+                assertSameScan(new String(text), TASHKEEL);
+            }
+        }
+    }
+
+    private void itShouldMatchTheScalarScanAtTheChunkBoundaries() {
+        for (int length : new int[] { CHUNK_SIZE - 1, CHUNK_SIZE, CHUNK_SIZE + 1, 2 * CHUNK_SIZE + LANES - 1 }) {
+            for (int match = CHUNK_SIZE - LANES - 1; match < Math.min(length, CHUNK_SIZE + LANES + 1); match++) {
+                char[] text = text(length, 'a');
+                text[match] = match % 2 == 0 ? 'x' : Character.MAX_VALUE;
+                assertSameScan(new String(text), EDGES);
+            }
+        }
+    }
+
+    private void itShouldMatchTheScalarScanOnRandomTexts() {
+        Random random = new Random(17);
+        char[] alphabet = "abc xyz 123 نص عربي\u0000\uffff\ufffeـ".toCharArray();
+        char[] rare = "ًٌٍَُِّْ".toCharArray();
+        for (int i = 0; i < 2000; i++) {
+            char[] text = new char[random.nextInt(3 * CHUNK_SIZE)];
+            for (int j = 0; j < text.length; j++) {
+                text[j] = random.nextInt(200) == 0
+                        ? rare[random.nextInt(rare.length)]
+                        : alphabet[random.nextInt(alphabet.length)];
+            }
+            assertSameScan(new String(text), TASHKEEL);
+            assertSameScan(new String(text), EDGES);
+        }
+    }
+
+    private static char[] text(int length, char filler) {
+        char[] text = new char[length];
+        Arrays.fill(text, filler);
+        return text;
+    }
+
+    private static void assertSameScan(String text, CharRanges ranges) {
+        for (int from : new int[] { 0, 1, LANES - 1, LANES, text.length() - VectorScan.MIN_LENGTH }) {
+            if (from >= 0 && from <= text.length()) {
+                assertEquals("from " + from + " in " + text.length() + " chars", ranges.indexIn(text, from),
+                        VectorScan.indexOfAny(text, from, ranges));
+            }
+        }
+    }
+}